@@ -0,0 +1,44 @@
+// 플랫폼 스레드 / 가상 스레드 비교용 부하 시나리오 (k6)
+// 비로그인 조회 API만 사용 : 피드 첫 페이지 -> 다음 페이지 -> 기온별 -> 인기 게시글
+// 설정은 환경 변수로 바꾼다 (run.sh가 두 모드에 같은 값을 넘긴다)
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = Number(__ENV.VUS || 400);
+const DURATION = __ENV.DURATION || '2m';
+const PAGE_SIZE = Number(__ENV.PAGE_SIZE || 10);
+
+export const options = {
+    scenarios: {
+        feed: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '20s', target: VUS },
+                { duration: DURATION, target: VUS },
+                { duration: '10s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+function get(path, name) {
+    const res = http.get(`${BASE_URL}${path}`, { tags: { name } });
+    check(res, { [`${name} 200`]: (r) => r.status === 200 });
+    return res;
+}
+
+export default function () {
+    const first = get(`/api/posts/cursor?size=${PAGE_SIZE}`, 'posts/cursor');
+    const nextCursor = first.status === 200 ? first.json('nextCursor') : null;
+    if (nextCursor) {
+        get(`/api/posts/cursor?size=${PAGE_SIZE}&cursor=${encodeURIComponent(nextCursor)}`, 'posts/cursor next');
+    }
+
+    const temperature = Math.floor(Math.random() * 40) - 10;
+    get(`/api/posts/temperature?temperature=${temperature}&size=${PAGE_SIZE}`, 'posts/temperature');
+    get(`/api/posts/trending?size=${PAGE_SIZE}`, 'posts/trending');
+}
@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# 같은 빌드/설정으로 플랫폼 스레드 모드와 가상 스레드 모드를 차례로 띄워서 feed.js를 실행하고 결과를 남긴다
+#
+# 필요 : application.properties가 가리키는 MySQL/Redis, k6, JASYPT_ENCRYPTOR_PASSWORD 환경 변수
+# 결과 : loadtest/results/{platform,virtual}.json (k6 summary), {platform,virtual}.log (애플리케이션 로그)
+#
+# 고정 설정 (두 모드 동일, 환경 변수로 변경)
+#   VUS=400, DURATION=2m, PAGE_SIZE=10           k6 동시 사용자 수, 유지 시간, 페이지 크기
+#   TOMCAT_MAX_THREADS=200                         플랫폼 스레드 모드의 요청 스레드 수 (Spring Boot 기본값)
+#   HIKARI_MAX_POOL_SIZE=10                        DB 커넥션 풀 크기 (Spring Boot 기본값)
+#   JAVA_OPTS="-Xms1g -Xmx1g"
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+: "${JASYPT_ENCRYPTOR_PASSWORD:?JASYPT_ENCRYPTOR_PASSWORD is required}"
+export VUS="${VUS:-400}" DURATION="${DURATION:-2m}" PAGE_SIZE="${PAGE_SIZE:-10}"
+TOMCAT_MAX_THREADS="${TOMCAT_MAX_THREADS:-200}"
+HIKARI_MAX_POOL_SIZE="${HIKARI_MAX_POOL_SIZE:-10}"
+JAVA_OPTS="${JAVA_OPTS:--Xms1g -Xmx1g}"
+PORT="${PORT:-8080}"
+export BASE_URL="http://localhost:${PORT}"
+
+RESULT_DIR=loadtest/results
+mkdir -p "$RESULT_DIR"
+
+./gradlew -q bootJar -x test
+JAR=$(ls build/libs/*.jar | grep -v plain | head -n 1)
+
+run_mode() {
+    local mode=$1 virtual=$2
+    echo "== ${mode} (spring.threads.virtual.enabled=${virtual})"
+
+    # shellcheck disable=SC2086
+    VIRTUAL_THREADS_ENABLED=$virtual java $JAVA_OPTS -jar "$JAR" \
+        --server.port="$PORT" \
+        --server.tomcat.threads.max="$TOMCAT_MAX_THREADS" \
+        --spring.datasource.hikari.maximum-pool-size="$HIKARI_MAX_POOL_SIZE" \
+        --jasypt.encryptor.password="$JASYPT_ENCRYPTOR_PASSWORD" \
+        > "$RESULT_DIR/${mode}.log" 2>&1 &
+    local pid=$!
+    trap 'kill $pid 2>/dev/null || true' EXIT
+
+    for _ in $(seq 1 60); do
+        if curl -sf -o /dev/null "$BASE_URL/api/posts/cursor?size=1"; then
+            break
+        fi
+        sleep 2
+    done
+
+    # 워밍업 (JIT, 커넥션 풀) 후 측정
+    k6 run --quiet -e VUS=50 -e DURATION=20s loadtest/feed.js > /dev/null
+    k6 run --summary-export "$RESULT_DIR/${mode}.json" loadtest/feed.js
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+echo "results: $RESULT_DIR/platform.json, $RESULT_DIR/virtual.json"
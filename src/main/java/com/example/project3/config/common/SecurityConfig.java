@@ -56,7 +56,8 @@ public class SecurityConfig{
             "/swagger-ui.html",  "/webjars/**",
             "/",  "/css/**",  "/index.html",  "/js/**",  "/favicon.ico",
             "/login",  "/api/signup",  "/api/user/**",
-            "/api/posts/**",  "/api/post/**/likers"
+            "/api/posts/**",  "/api/post/**/likers",  "/api/post/**/likers/cursor",
+            "/api/hashtags/**"
     };
 
     @Bean
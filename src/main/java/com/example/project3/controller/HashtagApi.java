@@ -0,0 +1,38 @@
+package com.example.project3.controller;
+
+import com.example.project3.dto.response.hashtag.HashtagSuggestResponseDto;
+import com.example.project3.dto.response.hashtag.HashtagTrendingResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.List;
+
+import static com.example.project3.controller.HashtagController.DEFAULT_SUGGEST_SIZE;
+import static com.example.project3.controller.HashtagController.DEFAULT_TRENDING_SIZE;
+
+@Tag(name = "해시태그")
+public interface HashtagApi {
+
+    // 해시태그 자동완성
+    @Operation(summary = "해시태그 자동완성", description = "입력 중인 접두어로 시작하는 해시태그를 사용 횟수 순으로 조회, 토큰 없이도 조회 가능.\n" +
+            "한글은 입력 중인 글자(예: \"날ㅆ\")로도 조회됩니다. size는 최대 20.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "해시태그 자동완성 조회 성공")
+    })
+    ResponseEntity<List<HashtagSuggestResponseDto>> suggestHashtags(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "" + DEFAULT_SUGGEST_SIZE) int size);
+
+    // 최근 1시간 인기 해시태그
+    @Operation(summary = "인기 해시태그 조회", description = "최근 1시간 동안 게시글 등록/수정에 많이 쓰인 해시태그를 횟수 순으로 조회, 토큰 없이도 조회 가능.\n" +
+            "횟수는 근사값이며 size는 최대 20.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "인기 해시태그 조회 성공")
+    })
+    ResponseEntity<List<HashtagTrendingResponseDto>> getTrendingHashtags(
+            @RequestParam(defaultValue = "" + DEFAULT_TRENDING_SIZE) int size);
+}
@@ -0,0 +1,48 @@
+package com.example.project3.controller;
+
+import com.example.project3.dto.response.hashtag.HashtagSuggestResponseDto;
+import com.example.project3.dto.response.hashtag.HashtagTrendingResponseDto;
+import com.example.project3.service.HashtagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api")
+@RestController
+public class HashtagController implements HashtagApi {
+
+    private final HashtagService hashtagService;
+
+    public static final int DEFAULT_SUGGEST_SIZE = 10;
+    public static final int DEFAULT_TRENDING_SIZE = 10;
+
+    // 해시태그 자동완성
+    @Override
+    @GetMapping("/hashtags/suggest")
+    public ResponseEntity<List<HashtagSuggestResponseDto>> suggestHashtags(
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "" + DEFAULT_SUGGEST_SIZE) int size) {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(hashtagService.suggestHashtags(prefix, size));
+    }
+
+    // 최근 1시간 인기 해시태그
+    @Override
+    @GetMapping("/hashtags/trending")
+    public ResponseEntity<List<HashtagTrendingResponseDto>> getTrendingHashtags(
+            @RequestParam(defaultValue = "" + DEFAULT_TRENDING_SIZE) int size) {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(hashtagService.getTrendingHashtags(size));
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.project3.controller;
+
+import com.example.project3.dto.request.media.MediaFinalizeRequestDto;
+import com.example.project3.dto.request.media.MediaUploadRequestDto;
+import com.example.project3.dto.response.media.PresignedUploadResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.List;
+
+@Tag(name = "미디어 업로드")
+public interface MediaApi {
+
+    // 버킷 직접 업로드 URL 발급
+    @Operation(summary = "업로드 URL 발급(토큰 필요)", description = "이미지를 버킷에 직접 올리는 PUT URL을 발급합니다.\n" +
+            "directory는 sns(게시글 이미지, 최대 3개) 또는 ProfileImage(1개).\n" +
+            "uploadUrl로 headers를 그대로 붙여 PUT 요청한 뒤, key로 업로드 완료를 요청하세요.\n" +
+            "업로드한 파일은 완료 요청에서 검사를 통과한 뒤에 fileUrl로 공개됩니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "업로드 URL 발급 성공"),
+            @ApiResponse(responseCode = "400", description = "지원하지 않는 업로드 위치, 파일 수 또는 이미지가 아닌 파일")
+    })
+    ResponseEntity<List<PresignedUploadResponseDto>> issueUploadUrls(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody MediaUploadRequestDto request);
+
+    // 게시글 이미지 업로드 완료
+    @Operation(summary = "게시글 이미지 업로드 완료(토큰 필요)", description = "버킷에 올린 이미지를 확인하고 게시글에 추가합니다.\n" +
+            "이미지 URL 목록을 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "게시글 이미지 추가 성공"),
+            @ApiResponse(responseCode = "400", description = "발급되지 않았거나 만료된 키, 업로드되지 않은 파일, 이미지가 아니거나 너무 큰 파일"),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없습니다.")
+    })
+    ResponseEntity<List<String>> finalizePostMedia(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long postId,
+            @RequestBody MediaFinalizeRequestDto request);
+
+    // 프로필 이미지 업로드 완료
+    @Operation(summary = "프로필 이미지 업로드 완료(토큰 필요)", description = "버킷에 올린 이미지를 확인하고 프로필 이미지로 변경합니다.\n" +
+            "이미지 URL을 반환합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "프로필 이미지 변경 성공"),
+            @ApiResponse(responseCode = "400", description = "발급되지 않았거나 만료된 키, 업로드되지 않은 파일, 이미지가 아니거나 너무 큰 파일")
+    })
+    ResponseEntity<String> finalizeProfileImage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody MediaFinalizeRequestDto request);
+}
@@ -0,0 +1,61 @@
+package com.example.project3.controller;
+
+import com.example.project3.dto.request.media.MediaFinalizeRequestDto;
+import com.example.project3.dto.request.media.MediaUploadRequestDto;
+import com.example.project3.dto.response.media.PresignedUploadResponseDto;
+import com.example.project3.service.MediaUploadService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RequiredArgsConstructor
+@RequestMapping("/api")
+@RestController
+public class MediaController implements MediaApi {
+
+    private final MediaUploadService mediaUploadService;
+
+    // 버킷 직접 업로드 URL 발급
+    @Override
+    @PostMapping("/media/uploads")
+    public ResponseEntity<List<PresignedUploadResponseDto>> issueUploadUrls(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody MediaUploadRequestDto request) {
+        log.info("업로드 URL 발급 요청이 들어왔습니다.");
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(mediaUploadService.issueUploadUrls(userDetails.getUsername(), request));
+    }
+
+    // 게시글 이미지 업로드 완료
+    @Override
+    @PostMapping("/post/{postId}/media")
+    public ResponseEntity<List<String>> finalizePostMedia(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable Long postId,
+            @RequestBody MediaFinalizeRequestDto request) {
+        log.info("게시글 이미지 업로드 완료 요청이 들어왔습니다.");
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(mediaUploadService.finalizePostMedia(postId, userDetails.getUsername(), request.getKeys()));
+    }
+
+    // 프로필 이미지 업로드 완료
+    @Override
+    @PatchMapping("/media/profile-image")
+    public ResponseEntity<String> finalizeProfileImage(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestBody MediaFinalizeRequestDto request) {
+        log.info("프로필 이미지 업로드 완료 요청이 들어왔습니다.");
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(mediaUploadService.finalizeProfileImage(userDetails.getUsername(), request.getKeys()));
+    }
+}
@@ -2,10 +2,15 @@ package com.example.project3.controller;
 
 import com.example.project3.dto.request.PostRequestDto;
 import com.example.project3.dto.request.PostUpdateRequestDto;
+import com.example.project3.dto.response.CursorSliceResponse;
 import com.example.project3.dto.response.MemberInfoPostResponseDto;
+import com.example.project3.dto.response.MemberProfileResponseDto;
 import com.example.project3.dto.response.PostLikedMemberResponseDto;
+import com.example.project3.dto.response.PostLikersResponseDto;
 import com.example.project3.dto.response.PostResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -18,6 +23,8 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -49,12 +56,15 @@ public interface PostApi {
     // 특정 게시글 상세 조회
     @Operation(summary = "특정 게시글 상세 조회", description = "특정 게시글을 조회합니다.")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "게시글 조회 성공"),
+            @ApiResponse(responseCode = "200", description = "게시글 조회 성공",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = PostResponseDto.class))),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
             @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없습니다.")
     })
-    ResponseEntity<PostResponseDto> getPostById(
+    ResponseEntity<byte[]> getPostById(
             @PathVariable Long postId,
-            @AuthenticationPrincipal UserDetails userDetails);
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest);
 
     // 특정 게시글 수정
     @Operation(summary = "특정 게시글 수정", description = "특정 게시글을 수정합니다.")
@@ -80,12 +90,26 @@ public interface PostApi {
 
 
     // 좋아요를 누른 유저 목록 조회
-    @Operation(summary = "좋아요 누른 유저 목록 조회", description = "특정 게시글에 좋아요를 누른 유저 목록을 조회, 최대 30명까지만 조회")
+    @Operation(summary = "좋아요 누른 유저 목록 조회", description = "특정 게시글에 좋아요를 누른 유저 목록을 먼저 누른 순으로 조회, 최대 30명까지만 조회.\n" +
+            "최근 순 전체 목록은 커서 조회를 사용")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "좋아요 누른 유저 목록 조회 성공")
     })
     ResponseEntity<List<PostLikedMemberResponseDto>> getLikes(@PathVariable Long postId);
 
+    // 좋아요를 누른 유저 커서 기반 조회
+    @Operation(summary = "좋아요 누른 유저 커서 조회", description = "특정 게시글에 좋아요를 누른 유저 목록을 최근 순으로 커서 기반 조회.\n" +
+            "첫 페이지는 cursor 없이 요청하고, 이후에는 응답의 nextCursor를 그대로 전달. totalCount는 게시글의 좋아요 수.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "좋아요 누른 유저 목록 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다."),
+            @ApiResponse(responseCode = "404", description = "게시글을 찾을 수 없습니다.")
+    })
+    ResponseEntity<PostLikersResponseDto> getLikerSlice(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size);
+
     // 해시태그로 게시글 조회
     @Operation(summary = "해시태그로 게시글 조회", description = "해시태그로 게시글을 조회합니다.")
     @ApiResponses({
@@ -111,6 +135,139 @@ public interface PostApi {
             Pageable pageable);
 
 
+    // 사용자 프로필 페이지
+    @Operation(summary = "사용자 프로필 조회", description = "회원 정보와 첫 게시글 목록을 한 번에 조회합니다. nickName 으로 조회.\n" +
+            "다음 게시글은 /api/posts/user/{nickName}/cursor 에 nextCursor를 전달해서 조회.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "사용자 프로필 조회 성공"),
+            @ApiResponse(responseCode = "404", description = "사용자를 찾을 수 없습니다.")
+    })
+    ResponseEntity<MemberProfileResponseDto> getMemberProfile(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size);
+
+    // 전체 게시글 커서 기반 조회
+    @Operation(summary = "전체 게시글 커서 조회", description = "게시글 목록을 커서 기반으로 조회, 토큰 없이도 조회 가능.\n" +
+            "첫 페이지는 cursor 없이 요청하고, 이후에는 응답의 nextCursor를 그대로 전달. nextCursor가 null이면 마지막 페이지.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "게시글 목록 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSlice(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+    // 해시태그별 게시글 커서 기반 조회
+    @Operation(summary = "해시태그로 게시글 커서 조회", description = "해시태그로 게시글을 커서 기반으로 조회합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "해시태그로 게시글 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByHashtag(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String hashtagName,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+    // 여러 해시태그로 게시글 커서 기반 조회
+    @Operation(summary = "여러 해시태그로 게시글 커서 조회", description = "여러 해시태그로 게시글을 커서 기반으로 조회합니다.\n" +
+            "tags는 쉼표로 구분(예: 비,우산 또는 #비,#우산), 최대 5개까지 사용합니다.\n" +
+            "match=all 이면 모든 태그를 포함한 게시글, match=any 이면 하나 이상 포함한 게시글.\n" +
+            "검색 범위 제한으로 items가 size보다 적어도 nextCursor가 있으면 다음 페이지를 이어서 조회할 수 있습니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "해시태그로 게시글 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByHashtags(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String tags,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+    // 게시글 본문/위치 검색
+    @Operation(summary = "게시글 검색", description = "게시글 본문과 위치에서 검색어를 포함한 게시글을 최신순으로 커서 기반 조회합니다.\n" +
+            "검색어의 모든 단어가 포함된 게시글만 조회됩니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "게시글 검색 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다."),
+            @ApiResponse(responseCode = "503", description = "검색 색인을 만드는 중입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> searchPosts(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+    // 사용자별 게시글 커서 기반 조회
+    @Operation(summary = "사용자별 게시글 커서 조회", description = "사용자별 게시글을 커서 기반으로 조회합니다.\n" +
+            "nickName 으로 조회.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "사용자별 게시글 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+
+    // 기온 범위로 게시글 커서 기반 조회
+    @Operation(summary = "기온 범위로 게시글 커서 조회", description = "기온이 temperature ± range 도인 게시글을 조회합니다. (range는 정수, 최대 5)\n" +
+            "temperature는 -100 ~ 100.\n" +
+            "비슷한 날씨에 다른 사람들이 입은 옷차림을 볼 때 사용.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "기온 범위 게시글 조회 성공"),
+            @ApiResponse(responseCode = "304", description = "If-None-Match의 ETag와 같아 변경 없음"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서 또는 기온입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByTemperature(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam float temperature,
+            @RequestParam(defaultValue = "2") int range,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest);
+
+
+    // 인기 게시글 조회
+    @Operation(summary = "인기 게시글 조회", description = "최근 좋아요가 많은 순으로 게시글을 조회, 토큰 없이도 조회 가능.\n" +
+            "좋아요의 가중치는 시간이 지날수록 줄어듭니다. 첫 페이지는 cursor 없이 요청하고, 이후에는 응답의 nextCursor를 그대로 전달.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "인기 게시글 조회 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 커서입니다.")
+    })
+    ResponseEntity<CursorSliceResponse<PostResponseDto>> getTrendingPostSlice(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size);
+
+
+    // 사용자별 전체 게시글 내보내기
+    @Operation(summary = "사용자별 전체 게시글 내보내기", description = "사용자의 전체 게시글을 NDJSON(한 줄에 게시글 하나)으로 스트리밍합니다.\n" +
+            "nickName 으로 조회.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "내보내기 시작"),
+            @ApiResponse(responseCode = "404", description = "사용자를 찾을 수 없습니다.")
+    })
+    ResponseEntity<StreamingResponseBody> exportPostsByUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName);
+
+
     // 게시글 삭제
     @Operation(summary = "게시글 삭제", description = "특정 게시글을 삭제합니다.")
     @ApiResponses({
@@ -122,4 +279,4 @@ public interface PostApi {
 
 
     
-}
\ No newline at end of file
+}
@@ -2,10 +2,15 @@ package com.example.project3.controller;
 
 import com.example.project3.dto.request.PostRequestDto;
 import com.example.project3.dto.request.PostUpdateRequestDto;
+import com.example.project3.dto.response.CursorSliceResponse;
 import com.example.project3.dto.response.MemberInfoPostResponseDto;
+import com.example.project3.dto.response.MemberProfileResponseDto;
 import com.example.project3.dto.response.PostLikedMemberResponseDto;
+import com.example.project3.dto.response.PostLikersResponseDto;
 import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.service.PostExportService;
 import com.example.project3.service.PostService;
+import io.swagger.v3.oas.annotations.Operation;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -13,14 +18,20 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -29,6 +40,7 @@ import java.util.List;
 public class PostController implements PostApi {
 
     private final PostService postService;
+    private final PostExportService postExportService;
 
     public static final int DEFAULT_PAGE_SIZE = 10;
 
@@ -62,32 +74,50 @@ public class PostController implements PostApi {
             Pageable pageable) {
         log.info("게시글 전체 목록 조회 요청이 들어왔습니다.");
 
-        if (userDetails != null) {
-            // 로그인한 경우
-            Page<PostResponseDto> allPostList = postService.getAllPostList(lastPostId, pageable, userDetails.getUsername());
-            return ResponseEntity.status(HttpStatus.OK)
-                    .body(allPostList);
-        } else {
-            // 로그인하지 않은 경우
-            Page<PostResponseDto> allPostList = postService.getAllPostList(lastPostId, pageable, null);
-            return ResponseEntity.status(HttpStatus.OK)
-                    .body(allPostList);
-        }
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        Page<PostResponseDto> allPostList = postService.getAllPostList(lastPostId, pageable, userEmail);
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(allPostList);
+
+    }
 
+    // 전체 게시글 목록 조회 (토큰 없는 요청)
+    // 모든 비로그인 사용자에게 같은 응답이므로 캐시된 Page<PostResponseDto> JSON을 그대로 응답, 문서는 firstMainList로 대신한다
+    @Operation(hidden = true)
+    @GetMapping(value = "/posts", headers = "!" + HttpHeaders.AUTHORIZATION)
+    public ResponseEntity<String> anonymousMainList(
+            @RequestParam(defaultValue = "" + Long.MAX_VALUE) Long lastPostId,
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC, size = DEFAULT_PAGE_SIZE)
+            Pageable pageable) {
+        log.info("비로그인 게시글 전체 목록 조회 요청이 들어왔습니다.");
+
+        String allPostListJson = postService.getAnonymousPostListJson(lastPostId, pageable);
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(allPostListJson);
     }
 
     // 특정 게시글 상세 조회
     @Override
     @GetMapping("/post/{postId}")
-    public ResponseEntity<PostResponseDto> getPostById(
+    public ResponseEntity<byte[]> getPostById(
             @PathVariable Long postId,
-            @AuthenticationPrincipal UserDetails userDetails) {
+            @AuthenticationPrincipal UserDetails userDetails,
+            WebRequest webRequest) {
         log.info("특정 게시글 상세 조회 요청이 들어왔습니다.");
 
-        PostResponseDto postResponseDto = postService.getPostById(postId, userDetails.getUsername());
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        byte[] postJson = postService.getPostDetailJson(postId, userDetails.getUsername(), eTagCheck);
+        if (postJson == null) {
+            // If-None-Match가 현재 ETag와 같음
+            return eTagCheck.notModified();
+        }
 
+        // 직렬화된 PostResponseDto JSON
         return ResponseEntity.status(HttpStatus.OK)
-                .body(postResponseDto);
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(postJson);
     }
 
     // 특정 게시글 수정
@@ -144,6 +174,19 @@ public class PostController implements PostApi {
     }
 
 
+    // 좋아요를 누른 유저 커서 기반 조회
+    @Override
+    @GetMapping("/post/{postId}/likers/cursor")
+    public ResponseEntity<PostLikersResponseDto> getLikerSlice(
+            @PathVariable Long postId,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(postService.getLikerSlice(postId, cursor, size));
+    }
+
+
     // 해시태그로 게시글 조회
     @Override
     @GetMapping("/posts/hashtag/{hashtagName}")
@@ -201,6 +244,167 @@ public class PostController implements PostApi {
                         .build());
     }
 
+    // 사용자 프로필 페이지 (회원 정보 + 첫 게시글 슬라이스)
+    @Override
+    @GetMapping("/posts/user/{nickName}/profile")
+    public ResponseEntity<MemberProfileResponseDto> getMemberProfile(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        log.info("사용자 프로필 조회 요청이 들어왔습니다.");
+
+        String loggedInUserEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(postService.getMemberProfile(nickName, size, loggedInUserEmail));
+    }
+
+    // 전체 게시글 커서 기반 조회 (count 쿼리 없음)
+    @Override
+    @GetMapping("/posts/cursor")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSlice(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("게시글 전체 목록 커서 조회 요청이 들어왔습니다.");
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.getPostSlice(cursor, size, userEmail, eTagCheck), eTagCheck);
+    }
+
+    // 해시태그별 게시글 커서 기반 조회
+    @Override
+    @GetMapping("/posts/hashtag/{hashtagName}/cursor")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByHashtag(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String hashtagName,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("특정 해시태그가 포함된 게시글 커서 조회 요청이 들어왔습니다.");
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.getPostSliceByHashtag(hashtagName, cursor, size, userEmail, eTagCheck), eTagCheck);
+    }
+
+    // 여러 해시태그로 게시글 커서 기반 조회
+    @Override
+    @GetMapping("/posts/hashtags/cursor")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByHashtags(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String tags,
+            @RequestParam(defaultValue = "all") String match,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("여러 해시태그로 게시글 커서 조회 요청이 들어왔습니다.");
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        // "#비,#우산" 또는 "비,우산" 형태
+        List<String> hashtags = Arrays.stream(tags.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("#") ? tag.substring(1) : tag)
+                .filter(tag -> !tag.isEmpty())
+                .distinct()
+                .toList();
+        boolean matchAll = !"any".equalsIgnoreCase(match);
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.getPostSliceByHashtags(hashtags, matchAll, cursor, size, userEmail, eTagCheck), eTagCheck);
+    }
+
+    // 게시글 본문/위치 검색
+    @Override
+    @GetMapping("/posts/search")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> searchPosts(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("게시글 검색 요청이 들어왔습니다.");
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.searchPosts(q, cursor, size, userEmail, eTagCheck), eTagCheck);
+    }
+
+    // 사용자별 게시글 커서 기반 조회
+    @Override
+    @GetMapping("/posts/user/{nickName}/cursor")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("사용자별 게시글 커서 조회 요청이 들어왔습니다.");
+
+        String loggedInUserEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.getPostSliceByUser(nickName, cursor, size, loggedInUserEmail, eTagCheck), eTagCheck);
+    }
+
+    // 기온 범위로 게시글 커서 기반 조회
+    @Override
+    @GetMapping("/posts/temperature")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getPostSliceByTemperature(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam float temperature,
+            @RequestParam(defaultValue = "2") int range,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        log.info("기온 범위 게시글 조회 요청이 들어왔습니다. 기온 = {}, 범위 = {}", temperature, range);
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        ETagCheck eTagCheck = new ETagCheck(webRequest);
+        return okOrNotModified(postService.getPostSliceByTemperature(temperature, range, cursor, size, userEmail, eTagCheck), eTagCheck);
+    }
+
+    // 인기 게시글 조회 (최근 좋아요가 많은 순)
+    @Override
+    @GetMapping("/posts/trending")
+    public ResponseEntity<CursorSliceResponse<PostResponseDto>> getTrendingPostSlice(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "") String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size) {
+        log.info("인기 게시글 조회 요청이 들어왔습니다.");
+
+        String userEmail = (userDetails != null) ? userDetails.getUsername() : null;
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(postService.getTrendingPostSlice(cursor, size, userEmail));
+    }
+
+    // 사용자별 전체 게시글 내보내기 (NDJSON 스트리밍)
+    @Override
+    @GetMapping("/posts/user/{nickName}/export")
+    public ResponseEntity<StreamingResponseBody> exportPostsByUser(
+            @AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable String nickName) {
+        log.info("사용자별 게시글 내보내기 요청이 들어왔습니다.");
+
+        String loggedInUserEmail = (userDetails != null) ? userDetails.getUsername() : null;
+        Long memberId = postExportService.getMemberIdByNickName(nickName);
+
+        StreamingResponseBody responseBody = out -> postExportService.exportPostsByMember(memberId, loggedInUserEmail, out);
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\"")
+                .body(responseBody);
+    }
+
     // 게시글 삭제
     @Override
     @DeleteMapping("/post/{postId}")
@@ -223,4 +427,36 @@ public class PostController implements PostApi {
 
 
 
-}
\ No newline at end of file
+
+    // 서비스가 null을 반환하면 If-None-Match가 현재 ETag와 같은 경우 (본문 없이 304)
+    private static <T> ResponseEntity<T> okOrNotModified(T body, ETagCheck eTagCheck) {
+        if (body == null) {
+            return eTagCheck.notModified();
+        }
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(body);
+    }
+
+    // 서비스가 계산한 ETag를 요청의 If-None-Match와 비교하고, 304 응답에 쓸 ETag를 기억한다
+    private static class ETagCheck implements Predicate<String> {
+
+        private final WebRequest webRequest;
+        private String eTag;
+
+        private ETagCheck(WebRequest webRequest) {
+            this.webRequest = webRequest;
+        }
+
+        @Override
+        public boolean test(String eTag) {
+            this.eTag = eTag;
+            return webRequest.checkNotModified(eTag);
+        }
+
+        private <T> ResponseEntity<T> notModified() {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .build();
+        }
+    }
+}
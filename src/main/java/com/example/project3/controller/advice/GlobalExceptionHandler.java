@@ -1,8 +1,12 @@
 package com.example.project3.controller.advice;
 
 import com.example.project3.exception.FileUploadException;
+import com.example.project3.exception.InvalidCursorException;
+import com.example.project3.exception.InvalidTemperatureException;
+import com.example.project3.exception.InvalidUploadException;
 import com.example.project3.exception.MissingFileException;
 import com.example.project3.exception.NotImageFileException;
+import com.example.project3.exception.SearchIndexNotReadyException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -70,4 +74,40 @@ public class GlobalExceptionHandler {
         errorResponse.put("error", "서버에서 에러가 있습니다, 문의 주세요.");
         return errorResponse;
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(InvalidCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursorException() {
+        Map<String, String> errorResponse = new HashMap<>();
+
+        errorResponse.put("error", "잘못된 커서입니다.");
+        return errorResponse;
+    }
+
+    @ExceptionHandler(InvalidTemperatureException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidTemperatureException() {
+        Map<String, String> errorResponse = new HashMap<>();
+
+        errorResponse.put("error", "잘못된 기온입니다.");
+        return errorResponse;
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidUploadException(InvalidUploadException e) {
+        Map<String, String> errorResponse = new HashMap<>();
+
+        errorResponse.put("error", e.getMessage());
+        return errorResponse;
+    }
+
+    @ExceptionHandler(SearchIndexNotReadyException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public Map<String, String> handleSearchIndexNotReadyException() {
+        Map<String, String> errorResponse = new HashMap<>();
+
+        errorResponse.put("error", "검색 색인을 만드는 중입니다. 잠시 후 다시 시도해 주세요.");
+        return errorResponse;
+    }
+}
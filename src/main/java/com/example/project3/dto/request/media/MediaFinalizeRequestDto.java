@@ -0,0 +1,17 @@
+package com.example.project3.dto.request.media;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Schema(name = "업로드 완료 요청 정보")
+public class MediaFinalizeRequestDto {
+
+    @Schema(description = "업로드 URL 발급 시 받은 key 목록")
+    private List<String> keys;
+}
@@ -0,0 +1,18 @@
+package com.example.project3.dto.request.media;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Schema(name = "업로드할 파일 정보")
+public class MediaUploadFileDto {
+
+    @Schema(description = "원본 파일 이름", example = "photo.jpg")
+    private String fileName;
+
+    @Schema(description = "파일 형식 (image/*)", example = "image/jpeg")
+    private String contentType;
+}
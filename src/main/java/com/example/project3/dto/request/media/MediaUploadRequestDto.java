@@ -0,0 +1,20 @@
+package com.example.project3.dto.request.media;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+@Schema(name = "업로드 URL 발급 요청 정보")
+public class MediaUploadRequestDto {
+
+    @Schema(description = "업로드 위치 (sns: 게시글 이미지, ProfileImage: 프로필 이미지)", example = "sns")
+    private String directory;
+
+    @Schema(description = "업로드할 파일 목록")
+    private List<MediaUploadFileDto> files;
+}
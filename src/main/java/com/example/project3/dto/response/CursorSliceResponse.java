@@ -0,0 +1,17 @@
+package com.example.project3.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 목록 응답
+ * nextCursor가 null이면 마지막 페이지
+ */
+@AllArgsConstructor
+@Getter
+public class CursorSliceResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
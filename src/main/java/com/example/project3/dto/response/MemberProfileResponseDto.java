@@ -0,0 +1,22 @@
+package com.example.project3.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+// 프로필 페이지 : 회원 정보 + 첫 게시글 슬라이스 (다음 페이지는 /posts/user/{nickName}/cursor?cursor=nextCursor)
+@AllArgsConstructor
+@Getter
+@Builder
+public class MemberProfileResponseDto {
+
+    private Long memberId;
+    private String userName;
+    private String email;
+    private String nickName;
+    private String imageUrl;
+    private List<PostResponseDto> postResponseDtos;
+    private String nextCursor;
+}
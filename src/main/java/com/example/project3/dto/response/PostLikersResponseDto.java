@@ -0,0 +1,18 @@
+package com.example.project3.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 좋아요 누른 회원 커서 목록
+ * totalCount는 게시글의 좋아요 수, nextCursor가 null이면 마지막 페이지
+ */
+@AllArgsConstructor
+@Getter
+public class PostLikersResponseDto {
+    private int totalCount;
+    private List<PostLikedMemberResponseDto> likers;
+    private String nextCursor;
+}
@@ -0,0 +1,7 @@
+package com.example.project3.dto.response.hashtag;
+
+public interface HashtagMapping {
+    Long getHashtagId();
+
+    String getHashtagName();
+}
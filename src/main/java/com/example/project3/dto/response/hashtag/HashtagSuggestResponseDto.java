@@ -0,0 +1,11 @@
+package com.example.project3.dto.response.hashtag;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class HashtagSuggestResponseDto {
+    private String hashtagName;
+    private long usageCount;
+}
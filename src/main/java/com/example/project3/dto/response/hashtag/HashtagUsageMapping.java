@@ -0,0 +1,9 @@
+package com.example.project3.dto.response.hashtag;
+
+public interface HashtagUsageMapping {
+    Long getHashtagId();
+
+    String getHashtagName();
+
+    Long getUsageCount();
+}
@@ -0,0 +1,20 @@
+package com.example.project3.dto.response.media;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * 버킷 직접 업로드 정보
+ * uploadUrl로 headers를 붙여 PUT 요청한 뒤, key로 업로드 완료를 요청한다.
+ */
+@AllArgsConstructor
+@Getter
+public class PresignedUploadResponseDto {
+    private String key;
+    private String uploadUrl;
+    private Map<String, String> headers;
+    private String fileUrl;
+    private long expiresAt;
+}
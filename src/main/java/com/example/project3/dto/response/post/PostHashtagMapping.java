@@ -0,0 +1,7 @@
+package com.example.project3.dto.response.post;
+
+public interface PostHashtagMapping {
+    Long getPostId();
+
+    String getHashtagName();
+}
@@ -0,0 +1,7 @@
+package com.example.project3.dto.response.post;
+
+public interface PostLikerMapping {
+    Long getPostId();
+
+    Long getMemberId();
+}
@@ -0,0 +1,29 @@
+package com.example.project3.dto.response.post;
+
+import com.example.project3.dto.response.PostLikedMemberResponseDto;
+
+/**
+ * 좋아요 누른 회원 정보 (커서로 쓸 postLikedId 포함)
+ * PostLiked, Member 엔티티를 올리지 않고 필요한 컬럼만 조회한다.
+ */
+public record PostLikerProjection(Long postLikedId,
+                                  Long memberId,
+                                  String email,
+                                  String name,
+                                  String imageUrl,
+                                  String nickName) {
+
+    public static final String SELECT_CLAUSE =
+            "select new com.example.project3.dto.response.post.PostLikerProjection(" +
+            "pl.postLikedId, m.id, m.email, m.name, m.imageURL, m.nickName) ";
+
+    public PostLikedMemberResponseDto toResponseDto() {
+        return PostLikedMemberResponseDto.builder()
+                .memberId(memberId)
+                .email(email)
+                .name(name)
+                .imageUrl(imageUrl)
+                .nickName(nickName)
+                .build();
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.project3.dto.response.post;
+
+public interface PostMediaMapping {
+    Long getPostId();
+
+    String getFileUrl();
+}
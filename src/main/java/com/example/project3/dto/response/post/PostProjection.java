@@ -0,0 +1,36 @@
+package com.example.project3.dto.response.post;
+
+import com.example.project3.entity.Post;
+import com.example.project3.entity.member.Member;
+
+import java.time.LocalDateTime;
+
+/**
+ * 조회 전용 게시글 + 작성자 정보
+ * 엔티티를 영속성 컨텍스트에 올리지 않고 JPQL 생성자 표현식으로 바로 채운다.
+ */
+public record PostProjection(Long postId,
+                             Long memberId,
+                             String memberImageUrl,
+                             String memberName,
+                             String memberEmail,
+                             String memberNickName,
+                             LocalDateTime createdAt,
+                             String postLocation,
+                             Float postTemperature,
+                             String postContent,
+                             int countLiked,
+                             long version) {
+
+    public static final String SELECT_CLAUSE =
+            "select new com.example.project3.dto.response.post.PostProjection(" +
+            "p.postId, m.id, m.imageURL, m.name, m.email, m.nickName, " +
+            "p.createdAt, p.postLocation, p.postTemperature, p.postContent, p.countLiked, p.version) ";
+
+    public static PostProjection from(Post post) {
+        Member member = post.getMember();
+        return new PostProjection(post.getPostId(), member.getId(), member.getImageURL(), member.getName(),
+                member.getEmail(), member.getNickName(), post.getCreatedAt(), post.getPostLocation(),
+                post.getPostTemperature(), post.getPostContent(), post.getCountLiked(), post.getVersion());
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.project3.dto.response.post;
+
+/**
+ * 검색 색인에 넣는 게시글 컬럼 (본문, 위치)
+ */
+public record PostSearchSource(Long postId,
+                               String postContent,
+                               String postLocation) {
+
+    public static final String SELECT_CLAUSE =
+            "select new com.example.project3.dto.response.post.PostSearchSource(" +
+            "p.postId, p.postContent, p.postLocation) ";
+}
@@ -18,16 +18,18 @@ public class Hashtag {
     @Column(unique = true)
     private String hashtagName;
 
+    // 조회 전용, 인기 태그는 수십만 건이 될 수 있으므로 게시글 연결 시 초기화하지 않는다 (PostHashtag 쪽에서만 연결)
     @Builder.Default
     @OneToMany(mappedBy = "hashtag")
     private List<PostHashtag> postHashtags = new ArrayList<>();
 
+    // 이 태그가 달린 게시글 수, HashtagUsageCountBuffer로만 변경 (기존 태그는 서버 시작 시 계산)
+    @Builder.Default
+    @Column(updatable = false)
+    private Long usageCount = 0L;
+
     public Hashtag(String hashtagName) {
         this.hashtagName = hashtagName;
-    }
-
-    public void addPostHashtag(PostHashtag postHashtag) {
-        this.postHashtags.add(postHashtag);
-        postHashtag.setHashtag(this);
+        this.usageCount = 0L;
     }
 }
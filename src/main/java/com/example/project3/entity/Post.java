@@ -17,6 +17,13 @@ import java.util.List;
 @NoArgsConstructor
 @Getter
 @Entity
+@Table(indexes = {
+        // 사용자별 게시글 커서 조회 (member_id = ? and post_id < ? order by post_id desc)
+        @Index(name = "idx_post_member_id_post_id", columnList = "member_id, post_id"),
+        // 기온별 게시글 커서 조회 (temperature_bucket = ? and post_id < ? order by post_id desc)
+        // post_temperature까지 포함해서 정확한 기온 범위 조건도 인덱스만으로 거른다
+        @Index(name = "idx_post_temperature_bucket_post_id_temperature", columnList = "temperature_bucket, post_id, post_temperature")
+})
 public class Post {
 
     @Id
@@ -26,6 +33,9 @@ public class Post {
     private String postLocation;
     private Float postTemperature;
 
+    // 기온을 1도 단위로 내림한 값, 기온별 조회 인덱스에 사용
+    private Integer temperatureBucket;
+
     @Builder.Default
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL)
     @BatchSize(size = 10)
@@ -47,7 +57,12 @@ public class Post {
 
 
 
-    private int countLiked; // 좋아요 수
+    // 좋아요 수, LikeCountBuffer의 일괄 UPDATE로만 변경 (엔티티 저장 시 덮어쓰지 않도록 updatable = false)
+    @Column(updatable = false)
+    private int countLiked;
+
+    // 응답 내용(본문, 좋아요 수, 미디어, 해시태그)이 바뀔 때마다 증가, ETag 생성에 사용
+    private long version;
 //    public int getCountLiked() {
 //        return postLikeds.size();
 //    }
@@ -57,18 +72,13 @@ public class Post {
     this.postHashtags = postHashtags;
 }
 
-    // 좋아요 수 증가
-    public void increaseCountLiked() {
-        countLiked++;
-    }
 //PostLiked 엔터티를 생성하여 postLikeds 리스트에 추가
 //    public void increaseCountLiked(Member member) {
 //        PostLiked postLiked = PostLiked.builder().post(this).member(member).liked(true).build();
 //        postLikeds.add(postLiked);
 //    }
-    // 좋아요 수 감소
-    public void decreaseCountLiked() {
-        countLiked = Math.max(countLiked - 1, 0);
+    public void increaseVersion() {
+        version++;
     }
 // PostLiked 엔터티를 생성하고 해당 엔터티와 일치하는 것을 postLikeds 리스트에서 제거
 //    public void decreaseCountLiked(Member member) {
@@ -79,6 +89,11 @@ public class Post {
     @PrePersist // 디비에 INSERT 되기 직전에 실행
     public void createAt() {
         this.createdAt = LocalDateTime.now();
+        this.temperatureBucket = toTemperatureBucket(postTemperature);
+    }
+
+    public static Integer toTemperatureBucket(Float temperature) {
+        return (temperature != null) ? (int) Math.floor(temperature) : null;
     }
 
     public void setMediaFiles() {
@@ -88,6 +103,7 @@ public class Post {
     public void addMediaFile(MediaFile mediaFile) {
         this.mediaFiles.add(mediaFile);
         mediaFile.setPost(this);
+        increaseVersion();
         //mediaFile.setPost(mediaFile.getPost());
         //mediaFiles.add(mediaFile);
     }
@@ -95,7 +111,9 @@ public class Post {
     public void update(PostUpdateRequestDto requestDto) {
         this.postLocation = requestDto.getLocation();
         this.postTemperature = requestDto.getTemperature();
+        this.temperatureBucket = toTemperatureBucket(requestDto.getTemperature());
         this.postContent = requestDto.getContent();
+        increaseVersion();
     }
 
 }
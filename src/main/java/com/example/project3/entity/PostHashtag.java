@@ -12,6 +12,10 @@ import jakarta.persistence.*;
 @Setter
 @Builder
 @Entity
+@Table(indexes = {
+        // 해시태그별 게시글 커서 조회 (hashtag_id = ? and post_id < ? order by post_id desc)
+        @Index(name = "idx_post_hashtag_hashtag_id_post_id", columnList = "hashtag_id, post_id")
+})
 public class PostHashtag {
 
     @Id
@@ -13,6 +13,13 @@ import jakarta.persistence.*;
 @Setter
 @Builder
 @Entity
+@Table(uniqueConstraints = {
+        // 같은 회원이 같은 게시글에 좋아요를 두 번 누를 수 없음 (insert ignore / delete 행 수로 좋아요 수 변경)
+        @UniqueConstraint(name = "uk_post_liked_post_id_member_id", columnNames = {"post_id", "member_id"})
+}, indexes = {
+        // 좋아요 누른 회원 커서 조회 (post_id = ? and liked = true and post_liked_id < ? order by post_liked_id desc)
+        @Index(name = "idx_post_liked_post_id_liked", columnList = "post_id, liked")
+})
 public class PostLiked {
 
     @Id
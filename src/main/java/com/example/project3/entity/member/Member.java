@@ -86,6 +86,10 @@ public class Member{
         this.role = Role.USER;
     }
 
+    public void updateImageUrl(String imageUrl) {
+        this.imageURL = imageUrl;
+    }
+
     public void updateUserInfo(String address, String nickName, String message, String imageUrl) {
         this.message = (!message.isBlank()) ? message : this.message;
         this.address = (!address.isBlank()) ? address : this.address;
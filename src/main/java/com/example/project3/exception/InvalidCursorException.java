@@ -0,0 +1,7 @@
+package com.example.project3.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.project3.exception;
+
+public class InvalidTemperatureException extends RuntimeException {
+    public InvalidTemperatureException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.project3.exception;
+
+public class InvalidUploadException extends RuntimeException {
+    public InvalidUploadException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,62 @@
 package com.example.project3.repository;
 
+import com.example.project3.dto.response.hashtag.HashtagMapping;
+import com.example.project3.dto.response.hashtag.HashtagUsageMapping;
 import com.example.project3.entity.Hashtag;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface HashtagRepository extends JpaRepository<Hashtag, Long> {
     Hashtag findHashtagByHashtagName(String hashtagName);
 
     Hashtag findByHashtagName(String newHashtag);
+
+    @Query("select h.hashtagId as hashtagId, h.hashtagName as hashtagName " +
+           "from Hashtag h " +
+           "where h.hashtagName in :hashtagNames")
+    List<HashtagMapping> findMappingsByHashtagNameIn(@Param("hashtagNames") Collection<String> hashtagNames);
+
+    @Query("select h.hashtagId as hashtagId, h.hashtagName as hashtagName " +
+           "from Hashtag h " +
+           "where h.hashtagId in :hashtagIds")
+    List<HashtagMapping> findMappingsByHashtagIdIn(@Param("hashtagIds") Collection<Long> hashtagIds);
+
+    @Query("select h.hashtagId from Hashtag h where h.hashtagName = :hashtagName")
+    Optional<Long> findIdByHashtagName(@Param("hashtagName") String hashtagName);
+
+    // 해시태그 사전 적재용, 많이 쓰인 태그부터
+    @Query("select h.hashtagId as hashtagId, h.hashtagName as hashtagName " +
+           "from Hashtag h " +
+           "order by h.usageCount desc")
+    List<HashtagMapping> findMappingsOrderByUsageCountDesc(Pageable pageable);
+
+    // 자동완성 인덱스 적재/갱신용
+    @Query("select h.hashtagId as hashtagId, h.hashtagName as hashtagName, h.usageCount as usageCount " +
+           "from Hashtag h " +
+           "order by h.usageCount desc")
+    List<HashtagUsageMapping> findUsageMappingsOrderByUsageCountDesc(Pageable pageable);
+
+    // 다른 트랜잭션이 방금 커밋한 태그도 읽도록 잠금 조회 (MySQL : for share)
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select h from Hashtag h where h.hashtagName in :hashtagNames order by h.hashtagName")
+    List<Hashtag> findForShareByHashtagNameIn(@Param("hashtagNames") Collection<String> hashtagNames);
+
+    // 사용 횟수가 없는 기존 태그 채우기
+    @Modifying
+    @Query(value = "update hashtag h set h.usage_count = " +
+                   "(select count(distinct ph.post_id) from post_hashtag ph where ph.hashtag_id = h.hashtag_id) " +
+                   "where h.usage_count is null",
+           nativeQuery = true)
+    int fillUsageCounts();
 }
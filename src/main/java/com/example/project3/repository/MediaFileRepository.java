@@ -1,5 +1,6 @@
 package com.example.project3.repository;
 
+import com.example.project3.dto.response.post.PostMediaMapping;
 import com.example.project3.entity.MediaFile;
 import com.example.project3.entity.Post;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface MediaFileRepository extends JpaRepository<MediaFile, Long> {
 
@@ -18,4 +22,11 @@ public interface MediaFileRepository extends JpaRepository<MediaFile, Long> {
     void deleteByPostIdAndFileUrl(@Param("postId") Long postId, @Param("fileUrl") String fileUrl);
 
     void deleteByPost(Post post);
-}
\ No newline at end of file
+
+    // 페이지에 포함된 게시글들의 미디어 URL을 한 번에 조회
+    @Query("select mf.post.postId as postId, mf.fileUrl as fileUrl " +
+           "from MediaFile mf " +
+           "where mf.post.postId in :postIds " +
+           "order by mf.mediaId")
+    List<PostMediaMapping> findFileUrlsByPostIds(@Param("postIds") Collection<Long> postIds);
+}
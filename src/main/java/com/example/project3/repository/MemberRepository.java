@@ -27,6 +27,9 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
 
     Optional<Member> findByNickName(String nickName);
 
+    @Query("select m.id from Member m where m.nickName = :nickName")
+    Optional<Long> findIdByNickName(@Param("nickName") String nickName);
+
     @Query("select m.id from Member m where m.email = :email")
     Optional<Long> getIdMyEmail(@Param("email") String email);
 
@@ -1,13 +1,16 @@
 package com.example.project3.repository;
 
+import com.example.project3.dto.response.post.PostHashtagMapping;
 import com.example.project3.entity.Post;
 import com.example.project3.entity.PostHashtag;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,5 +22,22 @@ public interface PostHashtagRepository extends JpaRepository<PostHashtag, Long>
     void deleteByPostId(@Param("postId") Long postId);
 
     void deleteByPost(Post post);
+
+    @Query("select distinct ph.hashtag.hashtagId from PostHashtag ph where ph.post.postId = :postId")
+    List<Long> findHashtagIdsByPostId(@Param("postId") Long postId);
+
+    // 페이지에 포함된 게시글들의 해시태그 이름을 한 번에 조회
+    @Query("select ph.post.postId as postId, h.hashtagName as hashtagName " +
+           "from PostHashtag ph join ph.hashtag h " +
+           "where ph.post.postId in :postIds " +
+           "order by ph.postHashtagId")
+    List<PostHashtagMapping> findHashtagNamesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // 해시태그별 게시글 ID 목록(posting list)을 (hashtag_id, post_id) 인덱스 순서대로 블록 단위 조회
+    @Query("select distinct ph.post.postId from PostHashtag ph " +
+           "where ph.hashtag.hashtagId = :hashtagId " +
+           "and ph.post.postId < :before " +
+           "order by ph.post.postId desc")
+    List<Long> findPostIdsByHashtagId(@Param("hashtagId") Long hashtagId, @Param("before") Long before, Pageable pageable);
 }
 
@@ -1,13 +1,22 @@
 package com.example.project3.repository;
 
+import com.example.project3.dto.response.post.PostLikerMapping;
+import com.example.project3.dto.response.post.PostLikerProjection;
 import com.example.project3.entity.member.Member;
 import com.example.project3.entity.Post;
 import com.example.project3.entity.PostLiked;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
+import static com.example.project3.dto.response.post.PostLikerProjection.SELECT_CLAUSE;
+
 @Repository
 public interface PostLikedRepository extends JpaRepository<PostLiked, Long> {
 
@@ -20,4 +29,58 @@ public interface PostLikedRepository extends JpaRepository<PostLiked, Long> {
     List<PostLiked> findByPost_PostId(Long postId);
 
     void deleteByPost(Post post);
+
+    // 주어진 게시글 중 회원이 좋아요를 누른 게시글 ID만 IN 쿼리 한 번으로 조회
+    @Query("select pl.post.postId from PostLiked pl " +
+           "where pl.member.id = :memberId " +
+           "and pl.post.postId in :postIds")
+    List<Long> findLikedPostIds(@Param("memberId") Long memberId, @Param("postIds") Collection<Long> postIds);
+
+    // (post_id, liked) 인덱스로 최근에 좋아요 누른 순 조회 (보조 인덱스에 PK가 포함되어 있어 정렬 없이 LIMIT)
+    @Query(SELECT_CLAUSE +
+           "from PostLiked pl join pl.member m " +
+           "where pl.post.postId = :postId " +
+           "and pl.liked = true " +
+           "and pl.postLikedId < :cursor " +
+           "order by pl.postLikedId desc")
+    List<PostLikerProjection> findLikerSlice(@Param("postId") Long postId, @Param("cursor") Long cursor, Pageable pageable);
+
+    // 레거시 목록용 : 먼저 좋아요 누른 순 (기존 응답 순서 유지, 같은 인덱스를 정방향으로 읽고 LIMIT)
+    @Query(SELECT_CLAUSE +
+           "from PostLiked pl join pl.member m " +
+           "where pl.post.postId = :postId " +
+           "and pl.liked = true " +
+           "order by pl.postLikedId asc")
+    List<PostLikerProjection> findFirstLikers(@Param("postId") Long postId, Pageable pageable);
+
+    // 게시글별 좋아요 누른 회원 ID 전체 (좋아요 인덱스 적재용)
+    @Query("select pl.post.postId as postId, pl.member.id as memberId " +
+           "from PostLiked pl " +
+           "where pl.post.postId in :postIds")
+    List<PostLikerMapping> findLikerIdsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    // (post_id, member_id) unique 제약으로 이미 있으면 추가되지 않음, 추가된 행 수 반환
+    @Modifying
+    @Query(value = "insert ignore into post_liked (post_id, member_id, liked) values (:postId, :memberId, true)",
+           nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("memberId") Long memberId);
+
+    @Modifying
+    @Query("delete from PostLiked pl where pl.post.postId = :postId and pl.member.id = :memberId")
+    int deleteByPostIdAndMemberId(@Param("postId") Long postId, @Param("memberId") Long memberId);
+
+    // unique 제약이 이미 있으면 중복이 있을 수 없으므로 정리하지 않는다 (메타데이터만 조회)
+    @Query(value = "select count(*) from information_schema.statistics " +
+                   "where table_schema = database() and table_name = 'post_liked' " +
+                   "and index_name = 'uk_post_liked_post_id_member_id'",
+           nativeQuery = true)
+    long countUniqueLikeIndexColumns();
+
+    // unique 제약 추가 전에 쌓인 중복 좋아요 중 먼저 생성된 것만 남기고 삭제
+    @Modifying
+    @Query(value = "delete pl1 from post_liked pl1 join post_liked pl2 " +
+                   "on pl1.post_id = pl2.post_id and pl1.member_id = pl2.member_id " +
+                   "and pl1.post_liked_id > pl2.post_liked_id",
+           nativeQuery = true)
+    int deleteDuplicates();
 }
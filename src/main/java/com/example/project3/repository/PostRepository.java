@@ -1,21 +1,140 @@
 package com.example.project3.repository;
 
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.dto.response.post.PostSearchSource;
 import com.example.project3.entity.Post;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static com.example.project3.dto.response.post.PostProjection.SELECT_CLAUSE;
+
 @Repository
 public interface PostRepository  extends JpaRepository<Post, Long> {
-    Page<Post> findByPostIdLessThanOrderByCreatedAtDesc(Long lastPostId, Pageable pageable);
 
     Page<Post> findByMemberIdOrderByCreatedAtDesc(Long memberId, Pageable pageable);
-    Page<Post> findByPostHashtags_Hashtag_HashtagNameAndPostIdLessThanOrderByCreatedAtDesc(
-            String hashtagName, Long lastPostId, Pageable pageable);
-//  @Query("SELECT p FROM Post p JOIN p.postHashtags ph WHERE ph.hashtag.hashtagName = :hashtagName AND p.postId < :lastPostId ORDER BY p.createdAt DESC")
-//  Page<Post> findByHashtagAndPostIdLessThanOrderByCreatedAtDesc(
-//      @Param("hashtagName") String hashtagName, @Param("lastPostId") Long lastPostId, Pageable pageable);
-    Page<Post> findByMember_NickNameAndPostIdLessThanOrderByCreatedAtDesc(String nickName, Long lastPostId, Pageable pageable);
-}
 
+    // 조회 전용 API는 엔티티 대신 PostProjection으로 바로 조회 (작성자 정보 포함)
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m " +
+           "where p.postId = :postId")
+    Optional<PostProjection> findProjectionById(@Param("postId") Long postId);
+
+    // 이미지 개수 제한처럼 게시글 단위로 검사 후 추가하는 경우 동시 요청을 직렬화
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Post p where p.postId = :postId")
+    Optional<Post> findForUpdateById(@Param("postId") Long postId);
+
+    @Query(value = SELECT_CLAUSE +
+                   "from Post p join p.member m " +
+                   "where p.postId < :lastPostId " +
+                   "order by p.createdAt desc",
+           countQuery = "select count(p) from Post p where p.postId < :lastPostId")
+    Page<PostProjection> findProjectionPage(@Param("lastPostId") Long lastPostId, Pageable pageable);
+
+    @Query(value = SELECT_CLAUSE +
+                   "from Post p join p.member m join p.postHashtags ph " +
+                   "where ph.hashtag.hashtagId = :hashtagId " +
+                   "and p.postId < :lastPostId " +
+                   "order by p.createdAt desc",
+           countQuery = "select count(p) from Post p join p.postHashtags ph " +
+                        "where ph.hashtag.hashtagId = :hashtagId " +
+                        "and p.postId < :lastPostId")
+    Page<PostProjection> findProjectionPageByHashtagId(@Param("hashtagId") Long hashtagId, @Param("lastPostId") Long lastPostId, Pageable pageable);
+
+    @Query(value = SELECT_CLAUSE +
+                   "from Post p join p.member m " +
+                   "where m.nickName = :nickName " +
+                   "and p.postId < :lastPostId " +
+                   "order by p.createdAt desc",
+           countQuery = "select count(p) from Post p " +
+                        "where p.member.nickName = :nickName " +
+                        "and p.postId < :lastPostId")
+    Page<PostProjection> findProjectionPageByNickName(@Param("nickName") String nickName, @Param("lastPostId") Long lastPostId, Pageable pageable);
+
+    // 커서 기반 조회: 정렬과 필터 모두 post_id 하나로 처리하고, count 쿼리는 실행하지 않는다
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m " +
+           "where p.postId < :cursor " +
+           "order by p.postId desc")
+    List<PostProjection> findProjectionSlice(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m join p.postHashtags ph " +
+           "where ph.hashtag.hashtagId = :hashtagId " +
+           "and p.postId < :cursor " +
+           "order by p.postId desc")
+    List<PostProjection> findProjectionSliceByHashtagId(@Param("hashtagId") Long hashtagId, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m " +
+           "where m.nickName = :nickName " +
+           "and p.postId < :cursor " +
+           "order by p.postId desc")
+    List<PostProjection> findProjectionSliceByNickName(@Param("nickName") String nickName, @Param("cursor") Long cursor, Pageable pageable);
+
+    // (member_id, post_id) 인덱스만으로 조회
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m " +
+           "where p.member.id = :memberId " +
+           "and p.postId < :cursor " +
+           "order by p.postId desc")
+    List<PostProjection> findProjectionSliceByMemberId(@Param("memberId") Long memberId, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query(SELECT_CLAUSE +
+           "from Post p join p.member m " +
+           "where p.postId in :postIds")
+    List<PostProjection> findProjectionsByIds(@Param("postIds") Collection<Long> postIds);
+
+    // 검색 색인 재생성용, 전체 게시글을 한 행씩 읽는다
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(PostSearchSource.SELECT_CLAUSE +
+           "from Post p " +
+           "order by p.postId")
+    Stream<PostSearchSource> streamSearchSources();
+
+    // 다른 서버의 검색 색인 변경 알림 반영용
+    @Query(PostSearchSource.SELECT_CLAUSE +
+           "from Post p " +
+           "where p.postId = :postId")
+    Optional<PostSearchSource> findSearchSourceById(@Param("postId") Long postId);
+
+    // 기온 버킷별 게시글 ID만 조회 (temperature_bucket, post_id, post_temperature) 인덱스만으로 처리
+    @Query("select p.postId from Post p " +
+           "where p.temperatureBucket = :bucket " +
+           "and p.postTemperature between :low and :high " +
+           "and p.postId < :cursor " +
+           "order by p.postId desc")
+    List<Long> findIdsByTemperatureBucket(@Param("bucket") Integer bucket, @Param("low") Float low, @Param("high") Float high,
+                                          @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select p.countLiked from Post p where p.postId = :postId")
+    Optional<Integer> findCountLikedById(@Param("postId") Long postId);
+
+    // 기온 버킷이 없는 기존 게시글 채우기
+    @Modifying
+    @Query("update Post p set p.temperatureBucket = cast(floor(p.postTemperature) as Integer) " +
+           "where p.temperatureBucket is null and p.postTemperature is not null")
+    int fillTemperatureBuckets();
+
+    // 중복 좋아요 정리 후 좋아요 수를 PostLiked 기준으로 다시 계산
+    @Modifying
+    @Query(value = "update post p set p.count_liked = (select count(*) from post_liked pl where pl.post_id = p.post_id), " +
+                   "p.version = p.version + 1",
+           nativeQuery = true)
+    int recountLikes();
+}
@@ -0,0 +1,181 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.util.TransactionUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.LongPredicate;
+
+/**
+ * 비로그인 사용자 게시글 목록(/api/posts) 캐시
+ *
+ * 비로그인 응답은 lastPostId, 페이지 크기가 같으면 내용이 동일하므로 직렬화된 JSON을 Redis에 저장해 모든 서버가 공유한다.
+ * 캐시된 페이지는 인덱스(ZSET)에 "lastPostId:size:minPostId" 형태로 등록되고, score는 lastPostId.
+ * 게시글 변경 시 영향을 받는 페이지만 골라서 삭제한다.
+ *  - 등록 : 새 게시글 ID보다 큰 lastPostId 페이지 (맨 앞 페이지)
+ *  - 수정 : 해당 게시글을 포함하는 페이지 (minPostId <= postId < lastPostId)
+ *  - 삭제 : 해당 게시글 ID보다 큰 lastPostId 페이지 (게시글 수가 바뀜)
+ *  - 작성자 정보 변경 : 전체 페이지
+ * 좋아요 수 변경은 TTL로 반영한다.
+ * Redis 장애 시에는 캐시 없이 DB에서 조회한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class AnonymousFeedCache {
+
+    private static final String PAGE_KEY_PREFIX = "feed:anonymous:";
+    private static final String INDEX_KEY = "feed:anonymous:index";
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${feed.cache.anonymous.ttl-seconds:30}")
+    private long ttlSeconds;
+
+    @Value("${feed.cache.anonymous.max-pages:1000}")
+    private long maxPages;
+
+    // lastPostId 기반 첫 페이지, 기본 정렬 요청만 캐시
+    public boolean isCacheable(Pageable pageable) {
+        return pageable.getPageNumber() == 0 && DEFAULT_SORT.equals(pageable.getSort());
+    }
+
+    public Optional<String> get(Long lastPostId, int size) {
+        try {
+            return Optional.ofNullable(stringRedisTemplate.opsForValue().get(pageKey(lastPostId, size)));
+        } catch (RuntimeException e) {
+            log.warn("비로그인 게시글 목록 캐시 조회 실패 : {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public String put(Long lastPostId, int size, Page<PostResponseDto> page) {
+        String json = serialize(page);
+
+        long minPostId = page.getContent().stream()
+                .mapToLong(PostResponseDto::getPostId)
+                .min()
+                .orElse(0L);
+
+        try {
+            stringRedisTemplate.opsForValue().set(pageKey(lastPostId, size), json, Duration.ofSeconds(ttlSeconds));
+            stringRedisTemplate.opsForZSet().add(INDEX_KEY, lastPostId + ":" + size + ":" + minPostId, lastPostId);
+            trimIndex();
+        } catch (RuntimeException e) {
+            log.warn("비로그인 게시글 목록 캐시 저장 실패 : {}", e.getMessage());
+        }
+        return json;
+    }
+
+    // 게시글 등록 : 새 게시글은 가장 큰 ID를 가지므로 lastPostId가 더 큰 페이지만 바뀐다
+    public void evictOnCreate(Long postId) {
+        TransactionUtil.afterCommit(() -> evictIf(postId, min -> true));
+    }
+
+    // 게시글 수정 : 해당 게시글을 포함한 페이지만 바뀐다
+    public void evictOnUpdate(Long postId) {
+        TransactionUtil.afterCommit(() -> evictIf(postId, min -> min <= postId));
+    }
+
+    // 게시글 삭제 : lastPostId가 더 큰 페이지는 내용 또는 전체 게시글 수가 바뀐다
+    public void evictOnDelete(Long postId) {
+        TransactionUtil.afterCommit(() -> evictIf(postId, min -> true));
+    }
+
+    // 작성자 정보(닉네임, 프로필 이미지) 변경 : 작성자의 게시글이 어느 페이지에 있는지 모르므로 전체 삭제 (최대 max-pages개)
+    public void evictAll() {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                Set<String> members = stringRedisTemplate.opsForZSet().range(INDEX_KEY, 0, -1);
+                if (members == null || members.isEmpty()) {
+                    return;
+                }
+
+                List<String> keys = new ArrayList<>(members.size());
+                for (String member : members) {
+                    String[] parts = member.split(":");
+                    keys.add(PAGE_KEY_PREFIX + parts[0] + ":" + parts[1]);
+                }
+                stringRedisTemplate.delete(keys);
+                stringRedisTemplate.opsForZSet().remove(INDEX_KEY, members.toArray());
+                log.info("비로그인 게시글 목록 캐시 전체 {}건 삭제", keys.size());
+            } catch (RuntimeException e) {
+                log.warn("비로그인 게시글 목록 캐시 삭제 실패 : {}", e.getMessage());
+            }
+        });
+    }
+
+    private void evictIf(Long postId, LongPredicate minPostIdCondition) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(INDEX_KEY, postId + 1, Double.POSITIVE_INFINITY);
+            if (members == null || members.isEmpty()) {
+                return;
+            }
+
+            List<String> evictedMembers = new ArrayList<>();
+            List<String> evictedKeys = new ArrayList<>();
+            for (String member : members) {
+                String[] parts = member.split(":");
+                if (minPostIdCondition.test(Long.parseLong(parts[2]))) {
+                    evictedMembers.add(member);
+                    evictedKeys.add(PAGE_KEY_PREFIX + parts[0] + ":" + parts[1]);
+                }
+            }
+
+            if (!evictedMembers.isEmpty()) {
+                stringRedisTemplate.delete(evictedKeys);
+                stringRedisTemplate.opsForZSet().remove(INDEX_KEY, evictedMembers.toArray());
+                log.info("비로그인 게시글 목록 캐시 {}건 삭제, postId = {}", evictedKeys.size(), postId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("비로그인 게시글 목록 캐시 삭제 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 인덱스가 너무 커지면 뒤쪽(lastPostId가 작은) 페이지부터 제거
+    private void trimIndex() {
+        Long count = stringRedisTemplate.opsForZSet().zCard(INDEX_KEY);
+        if (count == null || count <= maxPages) {
+            return;
+        }
+
+        Set<ZSetOperations.TypedTuple<String>> removed = stringRedisTemplate.opsForZSet().popMin(INDEX_KEY, count - maxPages);
+        if (removed == null) {
+            return;
+        }
+
+        List<String> keys = new ArrayList<>();
+        for (ZSetOperations.TypedTuple<String> tuple : removed) {
+            String[] parts = Objects.requireNonNull(tuple.getValue()).split(":");
+            keys.add(PAGE_KEY_PREFIX + parts[0] + ":" + parts[1]);
+        }
+        stringRedisTemplate.delete(keys);
+    }
+
+    public String serialize(Page<PostResponseDto> page) {
+        try {
+            return objectMapper.writeValueAsString(page);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("게시글 목록 직렬화 실패", e);
+        }
+    }
+
+    private String pageKey(Long lastPostId, int size) {
+        return PAGE_KEY_PREFIX + lastPostId + ":" + size;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project3.service;
+
+import com.example.project3.repository.HashtagRepository;
+import com.example.project3.repository.PostLikedRepository;
+import com.example.project3.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 새로 추가된 컬럼 중 기존 데이터에 값이 없는 것을 서버 시작 시 채운다.
+ * 값이 비어 있는 행만 대상으로 하므로 이미 채워진 뒤에는 변경되는 행이 없다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class DataBackfillService {
+
+    private final PostRepository postRepository;
+    private final HashtagRepository hashtagRepository;
+    private final PostLikedRepository postLikedRepository;
+
+    // 중복 좋아요 정리(MySQL 전용 쿼리)는 unique 제약 추가 전 데이터가 있는 DB에서 한 번만 켜고 실행
+    @Value("${post.like.dedupe-on-startup:false}")
+    private boolean dedupeLikesOnStartup;
+
+    @Transactional
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        int filledPosts = postRepository.fillTemperatureBuckets();
+        if (filledPosts > 0) {
+            log.info("기온 버킷이 없는 게시글 {}건을 채웠습니다.", filledPosts);
+        }
+
+        int filledHashtags = hashtagRepository.fillUsageCounts();
+        if (filledHashtags > 0) {
+            log.info("사용 횟수가 없는 해시태그 {}건을 채웠습니다.", filledHashtags);
+        }
+
+        // 한 번만 필요한 정리 : 켜져 있어도 unique 제약이 생긴 뒤에는 post_liked 전체 self join을 다시 실행하지 않는다
+        // unique 제약은 중복이 없어야 생성되므로, 중복이 있었다면 다음 시작 시 hbm2ddl이 생성한다
+        if (dedupeLikesOnStartup && postLikedRepository.countUniqueLikeIndexColumns() == 0) {
+            int duplicateLikes = postLikedRepository.deleteDuplicates();
+            if (duplicateLikes > 0) {
+                postRepository.recountLikes();
+                log.info("중복 좋아요 {}건을 삭제하고 좋아요 수를 다시 계산했습니다.", duplicateLikes);
+            }
+        }
+    }
+}
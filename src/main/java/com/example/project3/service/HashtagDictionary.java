@@ -0,0 +1,125 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.hashtag.HashtagMapping;
+import com.example.project3.repository.HashtagRepository;
+import com.example.project3.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 해시태그 이름 -> ID 사전 (서버 메모리)
+ *
+ * 태그는 종류가 많지 않고 이름/ID가 바뀌지 않으므로 서버 메모리에 두고 조회한다.
+ *  - 서버 시작 시 사용 횟수가 많은 태그부터 max-entries개 적재
+ *  - 사전에 없으면 DB에서 조회 후 추가, 새 태그는 커밋 후 추가하고 Redis pub/sub으로 다른 서버에도 알린다
+ *    (새 태그는 자동완성 인덱스에도 추가)
+ *  - max-entries를 넘으면 더 추가하지 않고 DB에서 조회 (메모리 사용량 제한)
+ * 태그는 삭제되지 않으므로 알림을 놓친 서버도 DB 조회로 다시 채워진다.
+ */
+@Slf4j
+@Component
+public class HashtagDictionary implements MessageListener {
+
+    private static final String CHANNEL = "hashtag:dictionary";
+
+    private final HashtagRepository hashtagRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final HashtagSuggestIndex hashtagSuggestIndex;
+    private final int maxEntries;
+
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+
+    public HashtagDictionary(HashtagRepository hashtagRepository,
+                             StringRedisTemplate stringRedisTemplate,
+                             RedisMessageListenerContainer redisMessageListenerContainer,
+                             HashtagSuggestIndex hashtagSuggestIndex,
+                             @Value("${hashtag.dictionary.max-entries:100000}") int maxEntries) {
+        this.hashtagRepository = hashtagRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.hashtagSuggestIndex = hashtagSuggestIndex;
+        this.maxEntries = maxEntries;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (HashtagMapping hashtag : hashtagRepository.findMappingsOrderByUsageCountDesc(PageRequest.ofSize(maxEntries))) {
+            put(hashtag.getHashtagName(), hashtag.getHashtagId());
+        }
+        log.info("해시태그 사전 {}개 적재", idsByName.size());
+    }
+
+    // 사전에만 조회, 없으면 null
+    public Long getId(String hashtagName) {
+        return idsByName.get(hashtagName);
+    }
+
+    // 사전에 없으면 DB에서 조회 후 추가
+    public Optional<Long> findId(String hashtagName) {
+        Long hashtagId = idsByName.get(hashtagName);
+        if (hashtagId != null) {
+            return Optional.of(hashtagId);
+        }
+
+        Optional<Long> found = hashtagRepository.findIdByHashtagName(hashtagName);
+        found.ifPresent(id -> put(hashtagName, id));
+        return found;
+    }
+
+    // 이미 커밋된 태그
+    public void put(String hashtagName, Long hashtagId) {
+        if (idsByName.size() < maxEntries || idsByName.containsKey(hashtagName)) {
+            idsByName.put(hashtagName.intern(), hashtagId);
+        }
+    }
+
+    // 이 트랜잭션에서 새로 만든 태그 : 롤백되면 없는 ID가 되므로 커밋 후 추가하고 다른 서버에 알린다
+    public void putCreated(Map<String, Long> hashtagIdsByName) {
+        Runnable action = () -> hashtagIdsByName.forEach((name, id) -> {
+            put(name, id);
+            hashtagSuggestIndex.add(id, name);
+            try {
+                stringRedisTemplate.convertAndSend(CHANNEL, id + ":" + name);
+            } catch (RuntimeException e) {
+                log.warn("해시태그 사전 변경 알림 실패 : {}", e.getMessage());
+            }
+        });
+
+        TransactionUtil.afterCommit(action);
+    }
+
+    // 메시지 형식 : "{hashtagId}:{hashtagName}" (이름에 ':'가 있을 수 있으므로 첫 번째 ':'로만 나눈다)
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0) {
+            return;
+        }
+        String hashtagName = body.substring(separator + 1);
+        Long hashtagId = Long.valueOf(body.substring(0, separator));
+        put(hashtagName, hashtagId);
+        hashtagSuggestIndex.add(hashtagId, hashtagName);
+    }
+}
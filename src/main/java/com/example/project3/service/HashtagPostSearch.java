@@ -0,0 +1,183 @@
+package com.example.project3.service;
+
+import com.example.project3.repository.PostHashtagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 여러 해시태그로 게시글 ID 검색 (AND / OR)
+ *
+ * 태그마다 게시글 ID를 내림차순으로 읽는 posting list를 만들고, (hashtag_id, post_id) 인덱스에서 블록 단위로 가져온다.
+ *  - AND : 가장 작은 현재 ID를 후보로 두고 모든 목록을 후보 이하로 건너뛴다(leapfrog). 모두 같으면 결과에 추가
+ *  - OR  : 목록들의 현재 ID 중 가장 큰 것을 차례로 꺼내 합친다 (중복 제거)
+ * 건너뛰기는 읽어 둔 블록 안에서는 갤럽(1, 2, 4, ... 칸) + 이진 탐색, 블록 밖이면 인덱스에서 해당 ID부터 다시 읽는다.
+ * 결과가 post_id 내림차순이므로 커서는 마지막 ID, count 쿼리 없음.
+ * 교집합이 거의 없는 태그 조합은 끝없이 건너뛸 수 있으므로 블록 조회 횟수를 제한하고,
+ * 제한에 걸리면 지금까지 찾은 결과와 이어서 검색할 커서를 반환한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class HashtagPostSearch {
+
+    private static final long EXHAUSTED = 0L;
+
+    private final PostHashtagRepository postHashtagRepository;
+
+    @Value("${hashtag.search.block-size:200}")
+    private int blockSize;
+
+    @Value("${hashtag.search.max-fetches:20}")
+    private int maxFetches;
+
+    /**
+     * @param before 이 ID보다 작은 게시글만 검색 (커서)
+     * @param limit 최대 결과 수
+     */
+    public SearchResult searchAll(Collection<Long> hashtagIds, long before, int limit) {
+        List<PostingList> lists = open(hashtagIds, before);
+        List<Long> postIds = new ArrayList<>(limit);
+
+        long candidate = before - 1;
+        while (postIds.size() < limit) {
+            boolean matched = true;
+            for (PostingList list : lists) {
+                long postId = list.advanceTo(candidate);
+                if (postId == EXHAUSTED) {
+                    return new SearchResult(postIds, null);
+                }
+                if (postId < candidate) {
+                    candidate = postId;
+                    matched = false;
+                }
+            }
+
+            if (matched) {
+                postIds.add(candidate);
+                candidate--;
+            } else if (fetches(lists) > maxFetches) {
+                // candidate보다 큰 ID는 모두 확인했으므로 candidate부터 이어서 검색
+                return new SearchResult(postIds, candidate + 1);
+            }
+        }
+        return new SearchResult(postIds, null);
+    }
+
+    public SearchResult searchAny(Collection<Long> hashtagIds, long before, int limit) {
+        List<PostingList> lists = open(hashtagIds, before);
+        List<Long> postIds = new ArrayList<>(limit);
+
+        long candidate = before - 1;
+        while (postIds.size() < limit) {
+            long max = EXHAUSTED;
+            for (PostingList list : lists) {
+                max = Math.max(max, list.advanceTo(candidate));
+            }
+            if (max == EXHAUSTED) {
+                break;
+            }
+            postIds.add(max);
+            candidate = max - 1;
+        }
+        return new SearchResult(postIds, null);
+    }
+
+    /**
+     * @param postIds 내림차순 게시글 ID
+     * @param resumeBefore 블록 조회 횟수 제한에 걸려 검색을 멈춘 경우 이어서 검색할 커서, 아니면 null
+     */
+    public record SearchResult(List<Long> postIds, Long resumeBefore) {
+    }
+
+    private List<PostingList> open(Collection<Long> hashtagIds, long before) {
+        List<PostingList> lists = new ArrayList<>(hashtagIds.size());
+        for (Long hashtagId : hashtagIds) {
+            lists.add(new PostingList(hashtagId, before));
+        }
+        return lists;
+    }
+
+    private int fetches(List<PostingList> lists) {
+        return lists.stream()
+                .mapToInt(list -> list.fetches)
+                .sum();
+    }
+
+    // 한 해시태그의 게시글 ID를 내림차순으로 읽는 커서
+    private class PostingList {
+
+        private final Long hashtagId;
+        private long[] postIds;
+        private int position;
+        private boolean lastBlock;
+        private int fetches;
+
+        private PostingList(Long hashtagId, long before) {
+            this.hashtagId = hashtagId;
+            fetch(before);
+        }
+
+        // target 이하인 첫 ID로 이동, 없으면 EXHAUSTED
+        private long advanceTo(long target) {
+            if (position >= postIds.length) {
+                if (lastBlock) {
+                    return EXHAUSTED;
+                }
+                fetch(target + 1);
+                return current();
+            }
+            if (postIds[position] <= target) {
+                return postIds[position];
+            }
+            if (postIds[postIds.length - 1] > target) {
+                // 읽어 둔 블록 전체가 target보다 크면 인덱스에서 target부터 다시 읽는다
+                if (lastBlock) {
+                    position = postIds.length;
+                    return EXHAUSTED;
+                }
+                fetch(target + 1);
+                return current();
+            }
+
+            // 갤럽 : postIds[low] > target 이고 postIds[high] <= target 인 구간을 찾은 뒤 이진 탐색
+            int low = position;
+            int step = 1;
+            int high = position + step;
+            while (high < postIds.length && postIds[high] > target) {
+                low = high;
+                step <<= 1;
+                high = position + step;
+            }
+            high = Math.min(high, postIds.length - 1);
+            while (low + 1 < high) {
+                int mid = (low + high) >>> 1;
+                if (postIds[mid] > target) {
+                    low = mid;
+                } else {
+                    high = mid;
+                }
+            }
+            position = high;
+            return postIds[position];
+        }
+
+        private long current() {
+            return (position < postIds.length) ? postIds[position] : EXHAUSTED;
+        }
+
+        private void fetch(long before) {
+            postIds = postHashtagRepository.findPostIdsByHashtagId(hashtagId, before, PageRequest.ofSize(blockSize))
+                    .stream()
+                    .mapToLong(Long::longValue)
+                    .toArray();
+            position = 0;
+            lastBlock = postIds.length < blockSize;
+            fetches++;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.hashtag.HashtagMapping;
+import com.example.project3.dto.response.hashtag.HashtagSuggestResponseDto;
+import com.example.project3.dto.response.hashtag.HashtagTrendingResponseDto;
+import com.example.project3.entity.Hashtag;
+import com.example.project3.repository.HashtagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * 해시태그 이름 -> Hashtag 일괄 조회/생성
+ *
+ * 태그마다 조회/저장하지 않고, 게시글 하나의 태그 전체를
+ *  0. HashtagDictionary(서버 메모리)에서 조회, 모두 있으면 DB 조회 없음
+ *  1. 사전에 없는 태그 IN 조회 (1회)
+ *  2. 없는 태그 multi-row INSERT IGNORE (1회)
+ *  3. 새로 추가한 태그 IN 조회 (1회, 없는 태그가 있을 때만)
+ * 로 처리한다.
+ * 같은 새 태그를 다른 요청이 동시에 만들어도 unique 제약 위반 대신 INSERT IGNORE로 무시되므로 게시글 저장이 롤백되지 않는다.
+ * 3번은 공유 잠금 조회(for share)라서 이 트랜잭션 시작 이후 다른 트랜잭션이 커밋한 태그도 읽는다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class HashtagService {
+
+    private final HashtagRepository hashtagRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final HashtagDictionary hashtagDictionary;
+    private final HashtagSuggestIndex hashtagSuggestIndex;
+    private final HashtagTrendingTracker hashtagTrendingTracker;
+    private final HashtagUsageCountBuffer hashtagUsageCountBuffer;
+
+    public static final int MAX_TRENDING_SIZE = 20;
+
+    // 요청 순서대로, 중복 이름은 한 번만
+    @Transactional
+    public List<Long> resolveHashtagIds(List<String> hashtagNames) {
+        if (hashtagNames == null || hashtagNames.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> names = hashtagNames.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        // 사전에 있는 태그는 DB 조회 없음
+        Map<String, Long> idsByName = new HashMap<>();
+        List<String> unknownNames = new ArrayList<>();
+        for (String name : names) {
+            Long hashtagId = hashtagDictionary.getId(name);
+            if (hashtagId != null) {
+                idsByName.put(name, hashtagId);
+            } else {
+                unknownNames.add(name);
+            }
+        }
+
+        if (!unknownNames.isEmpty()) {
+            for (HashtagMapping hashtag : hashtagRepository.findMappingsByHashtagNameIn(unknownNames)) {
+                idsByName.put(hashtag.getHashtagName(), hashtag.getHashtagId());
+                hashtagDictionary.put(hashtag.getHashtagName(), hashtag.getHashtagId());
+            }
+        }
+
+        // 동시에 같은 새 태그들을 만드는 트랜잭션끼리 잠금 순서가 엇갈리지 않도록 이름 순서로 INSERT/잠금 조회
+        List<String> missingNames = unknownNames.stream()
+                .filter(name -> !idsByName.containsKey(name))
+                .sorted()
+                .toList();
+        if (!missingNames.isEmpty()) {
+            insertIgnore(missingNames);
+            Map<String, Long> createdIdsByName = new HashMap<>();
+            for (Hashtag hashtag : hashtagRepository.findForShareByHashtagNameIn(missingNames)) {
+                createdIdsByName.put(hashtag.getHashtagName(), hashtag.getHashtagId());
+            }
+            idsByName.putAll(createdIdsByName);
+            hashtagDictionary.putCreated(createdIdsByName);
+            log.info("새 해시태그 {}개 확인", missingNames.size());
+        }
+
+        // DB 콜레이션상 같은 이름으로 취급되는 태그(대소문자 등)는 이름이 달라 위에서 찾지 못하므로 하나씩 조회
+        // "Rain", "rain"처럼 같은 태그를 가리키는 이름이 함께 오면 ID는 한 번만
+        return names.stream()
+                .map(name -> idsByName.containsKey(name)
+                        ? idsByName.get(name)
+                        : hashtagRepository.findIdByHashtagName(name).orElse(null))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    // 게시글 연결용 (조회 없이 ID만 가진 참조)
+    public Hashtag getReference(Long hashtagId) {
+        return hashtagRepository.getReferenceById(hashtagId);
+    }
+
+    // 해시태그별 게시글 조회용, 없는 태그면 empty
+    public Optional<Long> findHashtagId(String hashtagName) {
+        return hashtagDictionary.findId(hashtagName);
+    }
+
+    // 게시글에 연결된 태그의 사용 횟수 변경 (Hashtag.postHashtags를 초기화하지 않음)
+    // 게시글 트랜잭션에서 태그 행을 잠그지 않도록 커밋 후 모아서 반영 (HashtagUsageCountBuffer)
+    public void addUsageCount(Collection<Long> hashtagIds, long delta) {
+        if (!hashtagIds.isEmpty()) {
+            hashtagUsageCountBuffer.add(hashtagIds, delta);
+        }
+    }
+
+    // 해시태그 자동완성
+    public List<HashtagSuggestResponseDto> suggestHashtags(String prefix, int size) {
+        return hashtagSuggestIndex.suggest(prefix, size);
+    }
+
+    // 최근 window 동안 많이 쓰인 해시태그 (횟수는 HashtagTrendingTracker, 이름은 ID로 한 번에 조회)
+    @Transactional(readOnly = true)
+    public List<HashtagTrendingResponseDto> getTrendingHashtags(int size) {
+        Map<Long, Long> counts = hashtagTrendingTracker.findTop(Math.max(1, Math.min(size, MAX_TRENDING_SIZE)));
+        if (counts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Long, String> namesById = new HashMap<>();
+        for (HashtagMapping hashtag : hashtagRepository.findMappingsByHashtagIdIn(counts.keySet())) {
+            namesById.put(hashtag.getHashtagId(), hashtag.getHashtagName());
+        }
+
+        List<HashtagTrendingResponseDto> trending = new ArrayList<>(counts.size());
+        counts.forEach((hashtagId, count) -> {
+            String hashtagName = namesById.get(hashtagId);
+            if (hashtagName != null) {
+                trending.add(new HashtagTrendingResponseDto(hashtagName, count));
+            }
+        });
+        return trending;
+    }
+
+    private void insertIgnore(List<String> hashtagNames) {
+        String values = String.join(", ", Collections.nCopies(hashtagNames.size(), "(?, 0)"));
+        jdbcTemplate.update("insert ignore into hashtag (hashtag_name, usage_count) values " + values, hashtagNames.toArray());
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.hashtag.HashtagSuggestResponseDto;
+import com.example.project3.dto.response.hashtag.HashtagUsageMapping;
+import com.example.project3.repository.HashtagRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 해시태그 자동완성용 접두어 인덱스 (서버 메모리)
+ *
+ * 태그 이름을 정규화한 키로 정렬해 두고(ConcurrentSkipListMap), 접두어 범위만 훑어서 사용 횟수 상위 태그를 고른다.
+ * 정규화 : 소문자 -> NFD(한글 음절을 초성/중성/종성 자모로 분해) -> 호환 자모(ㄱ, ㅋ 등)를 초성 자모로 변환
+ *  - "날ㅆ" 입력 중에도 "날씨"가 검색되도록 자모 단위로 비교한다
+ *  - 입력 중인 마지막 글자의 받침은 다음 글자의 초성일 수 있으므로 ("날" -> "나래") 받침을 초성으로 옮긴 키도 함께 검색
+ * 짧은 접두어(자모 SHORT_PREFIX_LENGTH개 이하, "ㄴ", "나" 등)는 범위가 너무 넓으므로 DB 값으로 맞출 때 상위 태그를 미리 계산해 두고,
+ * 그 사이의 태그 추가/사용 횟수 증가는 해당 접두어 목록에 바로 반영한다.
+ * 목록에 있던 태그의 사용 횟수가 줄면 목록 밖의 태그가 더 많아질 수 있으므로 그 접두어 목록은 버리고 다음 계산 전까지 범위를 훑는다.
+ * 범위를 훑을 때는 키 순서로 최대 max-scan개까지만 훑는다 (넘으면 근사값).
+ * 새 태그는 HashtagDictionary를 통해 바로 추가되고(다른 서버 포함), 사용 횟수는 이 서버의 변경을 바로 반영하며
+ * 주기적으로 DB 값으로 맞춘다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class HashtagSuggestIndex {
+
+    public static final int MAX_SUGGEST_SIZE = 20;
+    private static final int SHORT_PREFIX_LENGTH = 2;
+    // 사용 횟수가 가장 작은 것이 맨 앞 (상위 N개를 고르는 힙)
+    private static final Comparator<Candidate> BY_USAGE_COUNT = Comparator.comparingLong(Candidate::usageCount);
+
+    // 초성 ㄱ, 종성 ㄱ ~ ㅎ, 호환 자모 ㄱ ~ ㅎ
+    private static final char CHOSEONG_BASE = '\u1100';
+    private static final char JONGSEONG_BASE = '\u11A8';
+    private static final char JONGSEONG_LAST = '\u11C2';
+    private static final char COMPAT_CONSONANT_BASE = '\u3131';
+    private static final char COMPAT_CONSONANT_LAST = '\u314E';
+
+    // 호환 자모 자음(ㄱ ~ ㅎ) -> 초성 번호, 초성으로 쓰이지 않는 겹자음은 -1
+    private static final int[] COMPAT_TO_CHOSEONG = {
+            0, 1, -1, 2, -1, -1, 3, 4, 5, -1, -1, -1, -1, -1, -1, -1,
+            6, 7, 8, -1, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18
+    };
+    // 종성 번호 -> 다음 글자로 옮길 초성 번호, 겹받침은 앞 자음이 종성으로 남는다 (ㄺ -> ㄹ + ㄱ)
+    private static final int[] JONGSEONG_TO_CHOSEONG = {
+            0, 1, 9, 2, 12, 18, 3, 5, 0, 6, 7, 9, 16, 17, 18, 6, 7, 9, 9, 10, 11, 12, 14, 15, 16, 17, 18
+    };
+    private static final int[] JONGSEONG_REST = {
+            -1, -1, 0, -1, 3, 3, -1, -1, 7, 7, 7, 7, 7, 7, 7, -1, -1, 16, -1, -1, -1, -1, -1, -1, -1, -1, -1
+    };
+
+    private final HashtagRepository hashtagRepository;
+
+    @Value("${hashtag.suggest.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${hashtag.suggest.max-scan:5000}")
+    private int maxScan;
+
+    // 키 : 정규화한 이름 + '\0' + 해시태그 ID (정규화 결과가 같은 태그도 따로 저장)
+    private final ConcurrentSkipListMap<String, SuggestEntry> entriesByKey = new ConcurrentSkipListMap<>();
+    private final Map<Long, SuggestEntry> entriesById = new ConcurrentHashMap<>();
+    // 짧은 접두어 -> 사용 횟수 상위 MAX_SUGGEST_SIZE개 (refresh 때 다시 계산, 그 사이에는 접두어별로 갱신)
+    private volatile Map<String, List<Candidate>> topByShortPrefix = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        log.info("해시태그 자동완성 인덱스 {}개 적재", entriesById.size());
+    }
+
+    // 사용 횟수를 DB 값으로 맞추고, 다른 서버에서 만든 태그 중 알림을 놓친 것도 추가
+    @Scheduled(fixedDelayString = "${hashtag.suggest.refresh-interval-ms:600000}",
+               initialDelayString = "${hashtag.suggest.refresh-interval-ms:600000}")
+    public void refresh() {
+        for (HashtagUsageMapping hashtag : hashtagRepository.findUsageMappingsOrderByUsageCountDesc(PageRequest.ofSize(maxEntries))) {
+            long usageCount = (hashtag.getUsageCount() != null) ? hashtag.getUsageCount() : 0L;
+            SuggestEntry entry = entriesById.get(hashtag.getHashtagId());
+            if (entry != null) {
+                entry.usageCount.set(usageCount);
+            } else {
+                add(hashtag.getHashtagId(), hashtag.getHashtagName(), usageCount);
+            }
+        }
+        computeShortPrefixes();
+    }
+
+    public void add(Long hashtagId, String hashtagName) {
+        add(hashtagId, hashtagName, 0L);
+    }
+
+    public void addUsageCount(Collection<Long> hashtagIds, long delta) {
+        for (Long hashtagId : hashtagIds) {
+            SuggestEntry entry = entriesById.get(hashtagId);
+            if (entry != null) {
+                entry.usageCount.addAndGet(delta);
+                updateShortPrefixes(entry, delta < 0);
+            }
+        }
+    }
+
+    // 접두어로 시작하는 태그 중 사용 횟수 상위 size개
+    public List<HashtagSuggestResponseDto> suggest(String prefix, int size) {
+        String key = normalize(prefix.trim());
+        if (key.isEmpty()) {
+            return Collections.emptyList();
+        }
+        int limit = Math.max(1, Math.min(size, MAX_SUGGEST_SIZE));
+
+        // 힙에는 넣는 시점의 사용 횟수를 복사해서 넣는다 (비교 중에 값이 바뀌면 힙 순서가 깨짐)
+        PriorityQueue<Candidate> top = new PriorityQueue<>(BY_USAGE_COUNT);
+        Set<Long> seen = new HashSet<>();
+        for (String prefixKey : prefixKeys(key)) {
+            List<Candidate> precomputed = (prefixKey.length() <= SHORT_PREFIX_LENGTH) ? topByShortPrefix.get(prefixKey) : null;
+            if (precomputed != null) {
+                for (Candidate candidate : precomputed) {
+                    if (seen.add(candidate.hashtagId())) {
+                        offer(top, candidate, limit);
+                    }
+                }
+                continue;
+            }
+
+            int scanned = 0;
+            for (SuggestEntry entry : entriesByKey.subMap(prefixKey, prefixKey + Character.MAX_VALUE).values()) {
+                if (++scanned > maxScan) {
+                    break;
+                }
+                if (seen.add(entry.hashtagId)) {
+                    offer(top, entry.snapshot(), limit);
+                }
+            }
+        }
+
+        List<HashtagSuggestResponseDto> suggestions = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            Candidate candidate = top.poll();
+            suggestions.add(new HashtagSuggestResponseDto(candidate.hashtagName(), candidate.usageCount()));
+        }
+        Collections.reverse(suggestions);
+        return suggestions;
+    }
+
+    // 모든 태그의 짧은 접두어별 상위 태그 계산 (태그 수 x SHORT_PREFIX_LENGTH 번의 힙 연산)
+    private void computeShortPrefixes() {
+        Map<String, PriorityQueue<Candidate>> heaps = new HashMap<>();
+        for (Map.Entry<String, SuggestEntry> entry : entriesByKey.entrySet()) {
+            String name = entry.getKey().substring(0, entry.getKey().lastIndexOf('\0'));
+            Candidate candidate = entry.getValue().snapshot();
+            for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, name.length()); length++) {
+                offer(heaps.computeIfAbsent(name.substring(0, length), k -> new PriorityQueue<>(BY_USAGE_COUNT)),
+                        candidate, MAX_SUGGEST_SIZE);
+            }
+        }
+
+        Map<String, List<Candidate>> computed = new ConcurrentHashMap<>(heaps.size() * 2);
+        heaps.forEach((prefix, heap) -> computed.put(prefix, List.copyOf(heap)));
+        topByShortPrefix = computed;
+    }
+
+    // 목록이 있는 짧은 접두어만 갱신 (목록이 없는 접두어는 이미 범위를 훑고 있다)
+    private void updateShortPrefixes(SuggestEntry entry, boolean decreased) {
+        Candidate candidate = entry.snapshot();
+        Map<String, List<Candidate>> shortPrefixes = topByShortPrefix;
+        for (int length = 1; length <= Math.min(SHORT_PREFIX_LENGTH, entry.normalizedName().length()); length++) {
+            shortPrefixes.computeIfPresent(entry.normalizedName().substring(0, length),
+                    (prefix, top) -> updateTop(top, candidate, decreased));
+        }
+    }
+
+    // null을 반환하면 목록을 버린다
+    private static List<Candidate> updateTop(List<Candidate> top, Candidate candidate, boolean decreased) {
+        int index = -1;
+        for (int i = 0; i < top.size(); i++) {
+            if (top.get(i).hashtagId().equals(candidate.hashtagId())) {
+                index = i;
+                break;
+            }
+        }
+        if (decreased) {
+            return (index >= 0) ? null : top;
+        }
+        if (index < 0 && top.size() >= MAX_SUGGEST_SIZE
+                && BY_USAGE_COUNT.compare(candidate, Collections.min(top, BY_USAGE_COUNT)) <= 0) {
+            return top;
+        }
+
+        List<Candidate> updated = new ArrayList<>(top);
+        if (index >= 0) {
+            updated.remove(index);
+        }
+        updated.add(candidate);
+        if (updated.size() > MAX_SUGGEST_SIZE) {
+            updated.remove(Collections.min(updated, BY_USAGE_COUNT));
+        }
+        return List.copyOf(updated);
+    }
+
+    private static void offer(PriorityQueue<Candidate> top, Candidate candidate, int limit) {
+        top.offer(candidate);
+        if (top.size() > limit) {
+            top.poll();
+        }
+    }
+
+    private void add(Long hashtagId, String hashtagName, long usageCount) {
+        if (entriesById.size() >= maxEntries || entriesById.containsKey(hashtagId)) {
+            return;
+        }
+        SuggestEntry entry = new SuggestEntry(hashtagId, hashtagName, normalize(hashtagName), new AtomicLong(usageCount));
+        entriesById.put(hashtagId, entry);
+        entriesByKey.put(entry.normalizedName() + '\0' + hashtagId, entry);
+        updateShortPrefixes(entry, false);
+    }
+
+    // 마지막 글자에 받침이 있으면 받침을 다음 글자의 초성으로 옮긴 키도 검색
+    static List<String> prefixKeys(String key) {
+        char last = key.charAt(key.length() - 1);
+        if (last < JONGSEONG_BASE || last > JONGSEONG_LAST) {
+            return List.of(key);
+        }
+
+        int jongseong = last - JONGSEONG_BASE;
+        StringBuilder moved = new StringBuilder(key.substring(0, key.length() - 1));
+        if (JONGSEONG_REST[jongseong] >= 0) {
+            moved.append((char) (JONGSEONG_BASE + JONGSEONG_REST[jongseong]));
+        }
+        moved.append((char) (CHOSEONG_BASE + JONGSEONG_TO_CHOSEONG[jongseong]));
+        return List.of(key, moved.toString());
+    }
+
+    static String normalize(String hashtagName) {
+        String decomposed = Normalizer.normalize(hashtagName.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder key = new StringBuilder(decomposed.length());
+        for (char c : decomposed.toCharArray()) {
+            if (c >= COMPAT_CONSONANT_BASE && c <= COMPAT_CONSONANT_LAST
+                    && COMPAT_TO_CHOSEONG[c - COMPAT_CONSONANT_BASE] >= 0) {
+                key.append((char) (CHOSEONG_BASE + COMPAT_TO_CHOSEONG[c - COMPAT_CONSONANT_BASE]));
+            } else {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private record SuggestEntry(Long hashtagId, String hashtagName, String normalizedName, AtomicLong usageCount) {
+
+        Candidate snapshot() {
+            return new Candidate(hashtagId, hashtagName, usageCount.get());
+        }
+    }
+
+    private record Candidate(Long hashtagId, String hashtagName, long usageCount) {
+    }
+}
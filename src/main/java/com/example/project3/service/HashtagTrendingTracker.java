@@ -0,0 +1,193 @@
+package com.example.project3.service;
+
+import com.example.project3.util.TransactionUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * 최근 window(기본 1시간) 동안 많이 쓰인 해시태그 집계 (서버 메모리)
+ *
+ * SQL로 구간마다 PostHashtag를 세지 않고, 게시글 등록/수정 시 붙은 태그를 바로 센다.
+ *  - window를 bucket-count 개의 시간 구간으로 나눈 링 버퍼, 오래된 구간은 재사용할 때 비운다 (슬라이딩 윈도우)
+ *  - 구간마다 Space-Saving 알고리즘으로 최대 capacity 개의 태그만 센다 (메모리 고정)
+ *    capacity가 차면 가장 작은 카운터를 새 태그에 넘겨주므로, 많이 쓰인 태그는 빠지지 않는다
+ *  - 카운터는 같은 값끼리 묶인 연결 리스트(Stream-Summary)로 관리해서 태그 1회 반영이 O(1)
+ * 조회는 window 안의 구간들을 합쳐서 상위 태그를 고른다 (최대 bucket-count * capacity 개).
+ * 각 서버는 자신이 처리한 등록/수정만 세므로, 요청이 고르게 분산된다는 가정에서 순위가 비슷하다.
+ */
+@Component
+public class HashtagTrendingTracker {
+
+    private final long bucketMillis;
+    private final int capacity;
+    private final SpaceSaving[] buckets;
+    private final long[] bucketEpochs;
+
+    public HashtagTrendingTracker(@Value("${hashtag.trending.window-minutes:60}") long windowMinutes,
+                                  @Value("${hashtag.trending.bucket-count:12}") int bucketCount,
+                                  @Value("${hashtag.trending.capacity:200}") int capacity) {
+        this.bucketMillis = Math.max(1L, windowMinutes * 60_000L / bucketCount);
+        this.capacity = capacity;
+        this.buckets = new SpaceSaving[bucketCount];
+        this.bucketEpochs = new long[bucketCount];
+        Arrays.fill(bucketEpochs, -1L);
+    }
+
+    // 커밋된 게시글의 태그만 센다
+    public void record(Collection<Long> hashtagIds) {
+        if (hashtagIds.isEmpty()) {
+            return;
+        }
+        List<Long> recorded = List.copyOf(hashtagIds);
+        TransactionUtil.afterCommit(() -> record(recorded, System.currentTimeMillis()));
+    }
+
+    synchronized void record(List<Long> hashtagIds, long now) {
+        SpaceSaving bucket = currentBucket(now);
+        for (Long hashtagId : hashtagIds) {
+            bucket.increment(hashtagId);
+        }
+    }
+
+    // window 안의 횟수 합계 상위 size개 (해시태그 ID -> 횟수, 많은 순)
+    public LinkedHashMap<Long, Long> findTop(int size) {
+        return findTop(size, System.currentTimeMillis());
+    }
+
+    synchronized LinkedHashMap<Long, Long> findTop(int size, long now) {
+        long epoch = now / bucketMillis;
+        Map<Long, Long> counts = new HashMap<>();
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] != null && bucketEpochs[i] > epoch - buckets.length) {
+                buckets[i].forEach((hashtagId, count) -> counts.merge(hashtagId, count, Long::sum));
+            }
+        }
+
+        LinkedHashMap<Long, Long> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed())
+                .limit(size)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+
+    private SpaceSaving currentBucket(long now) {
+        long epoch = now / bucketMillis;
+        int index = (int) (epoch % buckets.length);
+        if (bucketEpochs[index] != epoch) {
+            // window를 벗어난 구간을 비우고 현재 구간으로 재사용
+            buckets[index] = new SpaceSaving(capacity);
+            bucketEpochs[index] = epoch;
+        }
+        return buckets[index];
+    }
+
+    /**
+     * Space-Saving (Stream-Summary)
+     * 같은 횟수의 카운터끼리 CountGroup에 묶고, CountGroup은 횟수 오름차순 연결 리스트.
+     * 증가 : 카운터를 바로 다음(횟수 + 1) 그룹으로 옮긴다, 없으면 그 자리에 새 그룹 생성
+     * 교체 : 가장 작은 그룹(head)의 카운터 하나를 새 태그에 넘겨준다
+     */
+    private static class SpaceSaving {
+
+        private final int capacity;
+        private final Map<Long, Counter> counters = new HashMap<>();
+        private CountGroup head;
+
+        private SpaceSaving(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private void increment(Long hashtagId) {
+            Counter counter = counters.get(hashtagId);
+            if (counter == null) {
+                if (counters.size() < capacity) {
+                    counter = new Counter();
+                    counter.hashtagId = hashtagId;
+                    attach(counter, null, 1L);
+                    counters.put(hashtagId, counter);
+                    return;
+                }
+                // 가장 작은 카운터를 넘겨받는다 (추정 횟수 = 기존 횟수 + 1)
+                counter = head.counters.iterator().next();
+                counters.remove(counter.hashtagId);
+                counter.hashtagId = hashtagId;
+                counters.put(hashtagId, counter);
+            }
+
+            CountGroup group = counter.group;
+            long count = group.count + 1;
+            detach(counter);
+            attach(counter, group.counters.isEmpty() ? unlink(group) : group, count);
+        }
+
+        // after 그룹 바로 뒤에 count 그룹이 있으면 추가, 없으면 새로 만든다 (after가 null이면 맨 앞)
+        private void attach(Counter counter, CountGroup after, long count) {
+            CountGroup next = (after != null) ? after.next : head;
+            CountGroup group;
+            if (next != null && next.count == count) {
+                group = next;
+            } else {
+                group = new CountGroup(count);
+                group.prev = after;
+                group.next = next;
+                if (next != null) {
+                    next.prev = group;
+                }
+                if (after != null) {
+                    after.next = group;
+                } else {
+                    head = group;
+                }
+            }
+            group.counters.add(counter);
+            counter.group = group;
+        }
+
+        private void detach(Counter counter) {
+            counter.group.counters.remove(counter);
+            counter.group = null;
+        }
+
+        // 빈 그룹을 빼고 그 앞 그룹을 반환
+        private CountGroup unlink(CountGroup group) {
+            CountGroup prev = group.prev;
+            if (prev != null) {
+                prev.next = group.next;
+            } else {
+                head = group.next;
+            }
+            if (group.next != null) {
+                group.next.prev = prev;
+            }
+            return prev;
+        }
+
+        private void forEach(BiConsumer<Long, Long> action) {
+            for (CountGroup group = head; group != null; group = group.next) {
+                for (Counter counter : group.counters) {
+                    action.accept(counter.hashtagId, group.count);
+                }
+            }
+        }
+    }
+
+    private static class CountGroup {
+        private final long count;
+        private final Set<Counter> counters = new LinkedHashSet<>();
+        private CountGroup prev;
+        private CountGroup next;
+
+        private CountGroup(long count) {
+            this.count = count;
+        }
+    }
+
+    private static class Counter {
+        private Long hashtagId;
+        private CountGroup group;
+    }
+}
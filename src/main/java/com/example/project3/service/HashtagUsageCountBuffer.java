@@ -0,0 +1,61 @@
+package com.example.project3.service;
+
+import com.example.project3.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 해시태그 사용 횟수 변경 버퍼 (write-behind)
+ *
+ * 게시글 트랜잭션 안에서 hashtag 행을 UPDATE하면 인기 태그 행의 X 잠금을 커밋까지 잡고 있어
+ * 같은 태그를 쓰는 게시글 등록/수정/삭제가 모두 직렬화된다.
+ * 대신 커밋 후 태그별 증감량을 메모리에 모았다가 주기적으로 한 트랜잭션의 batch UPDATE로 반영한다. (WriteBehindCounter)
+ *  - 애플리케이션 종료 시 남은 증감량을 모두 반영
+ * DB의 사용 횟수는 최대 반영 주기(hashtag.usage.flush-interval-ms)만큼 늦게 반영된다.
+ * 자동완성 인덱스의 사용 횟수는 커밋 직후 바로 반영한다.
+ */
+@Component
+public class HashtagUsageCountBuffer {
+
+    private static final String FLUSH_SQL =
+            "update hashtag set usage_count = greatest(usage_count + ?, 0) where hashtag_id = ?";
+
+    private final HashtagSuggestIndex hashtagSuggestIndex;
+    private final WriteBehindCounter counter;
+
+    public HashtagUsageCountBuffer(JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   HashtagSuggestIndex hashtagSuggestIndex) {
+        this.hashtagSuggestIndex = hashtagSuggestIndex;
+        this.counter = new WriteBehindCounter("해시태그 사용 횟수", FLUSH_SQL, jdbcTemplate, transactionTemplate);
+    }
+
+    // 트랜잭션이 롤백되면 게시글-태그 연결도 없으므로, 커밋 이후에 증감량을 더한다
+    public void add(Collection<Long> hashtagIds, long delta) {
+        List<Long> ids = List.copyOf(hashtagIds);
+        Runnable action = () -> {
+            for (Long hashtagId : ids) {
+                counter.add(hashtagId, delta);
+            }
+            hashtagSuggestIndex.addUsageCount(ids, delta);
+        };
+
+        TransactionUtil.afterCommit(action);
+    }
+
+    @Scheduled(fixedDelayString = "${hashtag.usage.flush-interval-ms:3000}")
+    public void flush() {
+        counter.flush();
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
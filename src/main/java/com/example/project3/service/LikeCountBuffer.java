@@ -0,0 +1,45 @@
+package com.example.project3.service;
+
+import com.example.project3.util.TransactionUtil;
+import jakarta.annotation.PreDestroy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 게시글 좋아요 수 변경 버퍼 (write-behind)
+ *
+ * 좋아요/취소 때마다 post 행을 UPDATE하면 인기 게시글에서 행 잠금 경합과 갱신 손실이 생기므로,
+ * 게시글별 증감량을 메모리에 모았다가 주기적으로 한 번의 batch UPDATE로 반영한다. (WriteBehindCounter)
+ *  - 애플리케이션 종료 시 남은 증감량을 모두 반영
+ * DB의 좋아요 수는 최대 반영 주기(post.like.flush-interval-ms)만큼 늦게 반영된다.
+ */
+@Component
+public class LikeCountBuffer {
+
+    // 좋아요 수가 바뀌면 응답 내용도 바뀌므로 version도 증가 (ETag, 상세 캐시)
+    private static final String FLUSH_SQL =
+            "update post set count_liked = greatest(count_liked + ?, 0), version = version + 1 where post_id = ?";
+
+    private final WriteBehindCounter counter;
+
+    public LikeCountBuffer(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.counter = new WriteBehindCounter("좋아요 수", FLUSH_SQL, jdbcTemplate, transactionTemplate);
+    }
+
+    // 트랜잭션이 롤백되면 좋아요 행도 없으므로, 커밋 이후에 증감량을 더한다
+    public void add(Long postId, long delta) {
+        TransactionUtil.afterCommit(() -> counter.add(postId, delta));
+    }
+
+    @Scheduled(fixedDelayString = "${post.like.flush-interval-ms:3000}")
+    public void flush() {
+        counter.flush();
+    }
+
+    @PreDestroy
+    public void drain() {
+        flush();
+    }
+}
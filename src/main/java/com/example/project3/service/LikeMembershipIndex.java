@@ -0,0 +1,274 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.post.PostLikerMapping;
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.repository.PostLikedRepository;
+import com.example.project3.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 게시글별 좋아요 누른 회원 ID 인덱스 (Redis SET)
+ *
+ * 목록 조회마다 PostLiked를 조회하지 않고, 페이지의 게시글 전체에 대해 Lua 스크립트 한 번으로 좋아요 여부를 확인한다.
+ *  - 키 : post:likers:{postId}, 값 : 회원 ID 집합 + 적재 완료 표시(0)
+ *    (회원 ID가 정수뿐이라 Redis가 intset으로 저장해서 작다)
+ *  - 적재 : 조회 시 아직 없는 게시글만 PostLiked에서 한 번에 읽어서 저장
+ *    DB를 읽기 전에 적재 중 표시(post:likers:{postId}:loading, LIST)를 만들고, 그동안 커밋된 SADD/SREM은 여기에 기록한다.
+ *    저장할 때 기록을 다시 적용하므로 DB를 읽은 뒤 커밋된 좋아요/취소가 이전 값으로 덮어써지지 않는다.
+ *    DB는 적재 중 표시를 만든 뒤 새 트랜잭션에서 읽는다. 호출한 쪽 트랜잭션의 스냅샷은 표시보다 먼저 잡혔을 수 있어서,
+ *    그 사이에 커밋된 좋아요/취소가 DB 조회와 기록 양쪽에서 빠질 수 있기 때문이다.
+ *  - 갱신 : 좋아요/취소 커밋 후 키가 있으면 SADD/SREM, 적재 중이면 기록만 남긴다
+ *  - 만료 : TTL 동안 유지, 조회될 때마다 연장하되 적재 후 max-age가 지나면 더 이상 연장하지 않는다
+ *    (갱신이 빠진 키도 결국 DB에서 다시 적재된다)
+ *  - 좋아요 수가 max-members를 넘는 게시글은 인덱스에 올리지 않고 DB(IN 쿼리)로 확인해 메모리 사용량을 제한한다
+ * Redis 장애 시에는 DB에서 조회한다.
+ */
+@Slf4j
+@Component
+public class LikeMembershipIndex {
+
+    private static final String KEY_PREFIX = "post:likers:";
+    private static final String LOADING_SUFFIX = ":loading";
+    // 이 키가 남아 있는 동안만 조회 시 TTL 연장 (TTL = max-age)
+    private static final String RENEWABLE_SUFFIX = ":renewable";
+    // 적재 완료 표시, 회원 ID는 1부터 시작
+    private static final String LOADED = "0";
+    private static final long NOT_LOADED = -1;
+
+    // 게시글별 좋아요 여부 (1/0), 아직 적재되지 않은 게시글은 -1
+    // KEYS : 게시글마다 (인덱스 키, 연장 가능 표시 키)
+    @SuppressWarnings("unchecked")
+    private static final DefaultRedisScript<List<Long>> IS_MEMBER_SCRIPT = new DefaultRedisScript<>("""
+            local result = {}
+            for i = 1, #KEYS, 2 do
+                local found = -1
+                if redis.call('sismember', KEYS[i], '0') == 1 then
+                    if redis.call('exists', KEYS[i + 1]) == 1 then
+                        redis.call('expire', KEYS[i], ARGV[2])
+                    end
+                    found = redis.call('sismember', KEYS[i], ARGV[1])
+                end
+                result[#result + 1] = found
+            end
+            return result
+            """, (Class<List<Long>>) (Class<?>) List.class);
+
+    // 적재 중 표시 생성, 이미 다른 요청이 적재 중이면 그 표시를 같이 쓴다
+    private static final DefaultRedisScript<Long> BEGIN_LOAD_SCRIPT = new DefaultRedisScript<>("""
+            for i, key in ipairs(KEYS) do
+                if redis.call('exists', key) == 0 then
+                    redis.call('rpush', key, '')
+                    redis.call('expire', key, ARGV[1])
+                end
+            end
+            return #KEYS
+            """, Long.class);
+
+    // KEYS : 인덱스 키, 적재 중 표시 키, 연장 가능 표시 키
+    // 이미 적재됐거나 적재 중 표시가 없으면(다른 요청이 적재 완료, 삭제, 만료) 덮어쓰지 않는다
+    private static final DefaultRedisScript<Long> LOAD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 1 or redis.call('exists', KEYS[2]) == 0 then
+                return 0
+            end
+            for i = 3, #ARGV, 5000 do
+                redis.call('sadd', KEYS[1], unpack(ARGV, i, math.min(i + 4999, #ARGV)))
+            end
+            for _, op in ipairs(redis.call('lrange', KEYS[2], 0, -1)) do
+                local sep = string.find(op, ':', 1, true)
+                if sep then
+                    redis.call(string.sub(op, 1, sep - 1), KEYS[1], string.sub(op, sep + 1))
+                end
+            end
+            redis.call('del', KEYS[2])
+            redis.call('expire', KEYS[1], ARGV[1])
+            redis.call('set', KEYS[3], '1', 'EX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    // 적재된 키만 갱신, 적재 중이면 기록만 남기고, 둘 다 없으면 다음 조회 때 DB에서 적재
+    private static final DefaultRedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 1 then
+                return redis.call(ARGV[1], KEYS[1], ARGV[2])
+            end
+            if redis.call('exists', KEYS[2]) == 1 then
+                redis.call('rpush', KEYS[2], ARGV[1] .. ':' .. ARGV[2])
+                return 0
+            end
+            return -1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PostLikedRepository postLikedRepository;
+    private final TransactionTemplate loadTransactionTemplate;
+
+    @Value("${post.like.index.max-members:1000}")
+    private int maxMembers;
+
+    @Value("${post.like.index.ttl-seconds:3600}")
+    private long ttlSeconds;
+
+    // 적재 후 조회로 TTL을 연장할 수 있는 최대 시간
+    @Value("${post.like.index.max-age-seconds:21600}")
+    private long maxAgeSeconds;
+
+    // 적재 중 표시 유지 시간 (DB 조회가 이보다 오래 걸리면 저장하지 않는다)
+    @Value("${post.like.index.loading-timeout-seconds:30}")
+    private long loadingTimeoutSeconds;
+
+    public LikeMembershipIndex(StringRedisTemplate stringRedisTemplate,
+                               PostLikedRepository postLikedRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.postLikedRepository = postLikedRepository;
+
+        this.loadTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.loadTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransactionTemplate.setReadOnly(true);
+    }
+
+    public Set<Long> findLikedPostIds(Long memberId, List<PostProjection> posts) {
+        List<Long> indexedPostIds = new ArrayList<>();
+        List<Long> dbPostIds = new ArrayList<>();
+        for (PostProjection post : posts) {
+            (post.countLiked() <= maxMembers ? indexedPostIds : dbPostIds).add(post.postId());
+        }
+
+        Set<Long> likedPostIds = new HashSet<>();
+        List<Long> notLoadedPostIds = new ArrayList<>();
+        List<Long> results = isMember(memberId, indexedPostIds);
+        if (results == null) {
+            dbPostIds.addAll(indexedPostIds);
+        } else {
+            for (int i = 0; i < indexedPostIds.size(); i++) {
+                long result = results.get(i);
+                if (result == NOT_LOADED) {
+                    notLoadedPostIds.add(indexedPostIds.get(i));
+                } else if (result == 1) {
+                    likedPostIds.add(indexedPostIds.get(i));
+                }
+            }
+        }
+
+        if (!notLoadedPostIds.isEmpty()) {
+            likedPostIds.addAll(load(memberId, notLoadedPostIds));
+        }
+        if (!dbPostIds.isEmpty()) {
+            likedPostIds.addAll(postLikedRepository.findLikedPostIds(memberId, dbPostIds));
+        }
+        return likedPostIds;
+    }
+
+    public void add(Long postId, Long memberId) {
+        TransactionUtil.afterCommit(() -> update(postId, "sadd", memberId));
+    }
+
+    public void remove(Long postId, Long memberId) {
+        TransactionUtil.afterCommit(() -> update(postId, "srem", memberId));
+    }
+
+    public void evict(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                stringRedisTemplate.delete(List.of(key(postId), loadingKey(postId), renewableKey(postId)));
+            } catch (RuntimeException e) {
+                log.warn("좋아요 인덱스 삭제 실패 : {}", e.getMessage());
+            }
+        });
+    }
+
+    // 적재되지 않은 게시글의 좋아요 회원을 한 번에 읽어서 Redis에 저장하고, 읽은 값으로 좋아요 여부를 바로 판단
+    private Set<Long> load(Long memberId, List<Long> postIds) {
+        // 적재 중 표시를 먼저 만들어야 DB 조회 이후의 갱신이 기록된다
+        if (!beginLoad(postIds)) {
+            // Redis 장애 : 저장하지 않으므로 좋아요 여부만 DB에서 확인
+            return new HashSet<>(postLikedRepository.findLikedPostIds(memberId, postIds));
+        }
+
+        Map<Long, List<String>> likerIdsByPostId = new HashMap<>();
+        for (Long postId : postIds) {
+            likerIdsByPostId.put(postId, new ArrayList<>(List.of(
+                    String.valueOf(ttlSeconds), String.valueOf(maxAgeSeconds), LOADED)));
+        }
+
+        // 적재 중 표시 이후에 시작한 트랜잭션이어야 표시 전에 커밋된 갱신이 모두 보인다
+        List<PostLikerMapping> likers = loadTransactionTemplate.execute(
+                status -> postLikedRepository.findLikerIdsByPostIds(postIds));
+
+        Set<Long> likedPostIds = new HashSet<>();
+        for (PostLikerMapping liker : likers) {
+            likerIdsByPostId.get(liker.getPostId()).add(liker.getMemberId().toString());
+            if (liker.getMemberId().equals(memberId)) {
+                likedPostIds.add(liker.getPostId());
+            }
+        }
+
+        try {
+            likerIdsByPostId.forEach((postId, args) -> stringRedisTemplate.execute(LOAD_SCRIPT,
+                    List.of(key(postId), loadingKey(postId), renewableKey(postId)), args.toArray()));
+        } catch (RuntimeException e) {
+            log.warn("좋아요 인덱스 적재 실패 : {}", e.getMessage());
+        }
+        return likedPostIds;
+    }
+
+    private boolean beginLoad(List<Long> postIds) {
+        try {
+            stringRedisTemplate.execute(BEGIN_LOAD_SCRIPT,
+                    postIds.stream().map(this::loadingKey).toList(), String.valueOf(loadingTimeoutSeconds));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("좋아요 인덱스 적재 시작 실패 : {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Redis 장애 시 null
+    private List<Long> isMember(Long memberId, List<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = new ArrayList<>(postIds.size() * 2);
+        for (Long postId : postIds) {
+            keys.add(key(postId));
+            keys.add(renewableKey(postId));
+        }
+        try {
+            return stringRedisTemplate.execute(IS_MEMBER_SCRIPT,
+                    keys, memberId.toString(), String.valueOf(ttlSeconds));
+        } catch (RuntimeException e) {
+            log.warn("좋아요 인덱스 조회 실패 : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void update(Long postId, String command, Long memberId) {
+        try {
+            stringRedisTemplate.execute(UPDATE_SCRIPT, List.of(key(postId), loadingKey(postId)),
+                    command, memberId.toString());
+        } catch (RuntimeException e) {
+            // 갱신에 실패한 키는 TTL이 지나면 DB에서 다시 적재된다
+            log.warn("좋아요 인덱스 갱신 실패 : {}", e.getMessage());
+        }
+    }
+
+    private String key(Long postId) {
+        return KEY_PREFIX + postId;
+    }
+
+    private String loadingKey(Long postId) {
+        return KEY_PREFIX + postId + LOADING_SUFFIX;
+    }
+
+    private String renewableKey(Long postId) {
+        return KEY_PREFIX + postId + RENEWABLE_SUFFIX;
+    }
+}
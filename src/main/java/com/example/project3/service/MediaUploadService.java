@@ -0,0 +1,277 @@
+package com.example.project3.service;
+
+import com.amazonaws.services.s3.Headers;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.example.project3.dto.request.media.MediaUploadFileDto;
+import com.example.project3.dto.request.media.MediaUploadRequestDto;
+import com.example.project3.dto.response.media.PresignedUploadResponseDto;
+import com.example.project3.entity.MediaFile;
+import com.example.project3.entity.Post;
+import com.example.project3.entity.member.Member;
+import com.example.project3.exception.InvalidUploadException;
+import com.example.project3.exception.NotImageFileException;
+import com.example.project3.repository.MemberRepository;
+import com.example.project3.repository.PostRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+import static com.example.project3.service.MemberService.DEFAULT_IMAGE_URL;
+import static com.example.project3.service.S3Uploader.DIR_PROFILE_IMAGE;
+import static com.example.project3.service.S3Uploader.DIR_SNS;
+
+/**
+ * 버킷 직접 업로드 (presigned PUT URL)
+ *
+ * 이미지 내용은 API 서버를 거치지 않는다.
+ *  1. 발급 : 파일마다 키를 정하고 presigned PUT URL을 준다. 발급한 키는 Redis에 회원 ID와 함께 저장 (TTL)
+ *  2. 업로드 : 클라이언트가 URL로 버킷에 직접 PUT
+ *  3. 완료 : 이 회원에게 발급한 키인지 확인하고, HEAD로 파일이 있는지/이미지인지/크기를 확인한 뒤
+ *           공개 읽기로 전환하고 MediaFile 행을 저장
+ * 업로드 URL로 올린 파일은 비공개라서, 크기/타입 검사를 통과하기 전에는 배포 용도로 쓸 수 없다.
+ * 발급한 키는 DB 커밋까지 끝나야 대기 목록(ZSET, score = 완료 기한)에서 빠진다.
+ * 완료되지 않은 키는 주기적으로 버킷에서 삭제된다.
+ * 로컬에서는 cloud.aws.s3.endpoint에 S3 호환 서버(MinIO 등)를 지정해서 같은 흐름으로 확인할 수 있다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class MediaUploadService {
+
+    private static final String ISSUED_KEY_PREFIX = "media:upload:";
+    private static final String PENDING_KEY = "media:upload:pending";
+    // 게시글 이미지는 최대 3장 (게시글 등록과 같은 제한)
+    public static final int MAX_UPLOAD_FILES = 3;
+
+    private final S3Uploader s3Uploader;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MemberRepository memberRepository;
+    private final PostRepository postRepository;
+    private final AnonymousFeedCache anonymousFeedCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${cloud.aws.s3.presigned.expiration-seconds:600}")
+    private long expirationSeconds;
+
+    // 업로드 URL 만료 후 완료 요청까지 기다리는 시간
+    @Value("${cloud.aws.s3.presigned.finalize-grace-seconds:3600}")
+    private long finalizeGraceSeconds;
+
+    @Value("${cloud.aws.s3.presigned.max-file-size:10485760}")
+    private long maxFileSize;
+
+    public List<PresignedUploadResponseDto> issueUploadUrls(String email, MediaUploadRequestDto request) {
+        String directory = request.getDirectory();
+        if (!DIR_SNS.equals(directory) && !DIR_PROFILE_IMAGE.equals(directory)) {
+            throw new InvalidUploadException("지원하지 않는 업로드 위치입니다.");
+        }
+        List<MediaUploadFileDto> files = request.getFiles();
+        int maxFiles = DIR_PROFILE_IMAGE.equals(directory) ? 1 : MAX_UPLOAD_FILES;
+        if (files == null || files.isEmpty() || files.size() > maxFiles) {
+            throw new InvalidUploadException("업로드할 파일은 1개 이상 " + maxFiles + "개 이하여야 합니다.");
+        }
+        for (MediaUploadFileDto file : files) {
+            if (file.getContentType() == null || !file.getContentType().startsWith("image/")) {
+                throw new NotImageFileException("Unsupported file type");
+            }
+        }
+
+        Long memberId = getMemberId(email);
+        long expiresAt = System.currentTimeMillis() + expirationSeconds * 1000;
+        long finalizeDeadline = expiresAt + finalizeGraceSeconds * 1000;
+
+        List<PresignedUploadResponseDto> uploads = new ArrayList<>(files.size());
+        for (MediaUploadFileDto file : files) {
+            String key = s3Uploader.createFileName(directory, sanitizeFileName(file.getFileName()));
+            String uploadUrl = s3Uploader.createPresignedPutUrl(key, file.getContentType(), new Date(expiresAt)).toString();
+
+            stringRedisTemplate.opsForValue().set(ISSUED_KEY_PREFIX + key, memberId.toString(),
+                    Duration.ofMillis(finalizeDeadline - System.currentTimeMillis()));
+            stringRedisTemplate.opsForZSet().add(PENDING_KEY, key, finalizeDeadline);
+
+            Map<String, String> headers = Map.of(Headers.CONTENT_TYPE, file.getContentType());
+            uploads.add(new PresignedUploadResponseDto(key, uploadUrl, headers, s3Uploader.getFileUrl(key), expiresAt));
+        }
+        log.info("업로드 URL {}개 발급, memberId = {}", uploads.size(), memberId);
+        return uploads;
+    }
+
+    // 업로드된 게시글 이미지를 확인하고 MediaFile로 등록, 파일 URL 반환
+    public List<String> finalizePostMedia(Long postId, String email, List<String> keys) {
+        Long memberId = getMemberId(email);
+        // 확인 전에 권한부터 검사해서 다른 사람 게시글 요청으로 키가 소모되지 않도록 한다
+        Long writerId = postRepository.findProjectionById(postId)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId))
+                .memberId();
+        if (!writerId.equals(memberId)) {
+            throw new IllegalArgumentException("해당 게시글을 수정할 권한이 없습니다.");
+        }
+
+        List<String> claimKeys = normalizeKeys(keys, MAX_UPLOAD_FILES);
+        List<String> fileUrls = claimUploads(memberId, claimKeys, DIR_SNS);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 같은 게시글에 동시에 완료 요청이 와도 3장 제한을 넘지 않도록 게시글 행을 잠그고 센다
+                Post post = postRepository.findForUpdateById(postId)
+                        .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
+                if (post.getMediaFiles().size() + fileUrls.size() > MAX_UPLOAD_FILES) {
+                    throw new InvalidUploadException("이미지는 최대 " + MAX_UPLOAD_FILES + "장까지 등록할 수 있습니다.");
+                }
+                for (String fileUrl : fileUrls) {
+                    post.addMediaFile(new MediaFile(fileUrl, post));
+                }
+                anonymousFeedCache.evictOnUpdate(postId);
+            });
+        } catch (RuntimeException e) {
+            s3Uploader.deleteFiles(fileUrls);
+            throw e;
+        }
+        removePending(claimKeys);
+        return fileUrls;
+    }
+
+    // 업로드된 프로필 이미지를 확인하고 회원 이미지로 변경, 이전에 업로드한 이미지는 커밋 후 삭제
+    public String finalizeProfileImage(String email, List<String> keys) {
+        Long memberId = getMemberId(email);
+        List<String> claimKeys = normalizeKeys(keys, 1);
+        String fileUrl = claimUploads(memberId, claimKeys, DIR_PROFILE_IMAGE).get(0);
+
+        String oldImageUrl;
+        try {
+            oldImageUrl = transactionTemplate.execute(status -> {
+                Member member = memberRepository.findByEmail(email)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+                String imageUrl = member.getImageURL();
+                member.updateImageUrl(fileUrl);
+                anonymousFeedCache.evictAll();
+                return imageUrl;
+            });
+        } catch (RuntimeException e) {
+            s3Uploader.deleteFiles(List.of(fileUrl));
+            throw e;
+        }
+        removePending(claimKeys);
+
+        if (oldImageUrl != null && !oldImageUrl.equals(DEFAULT_IMAGE_URL)
+                && !(oldImageUrl.contains("kakao") || oldImageUrl.contains("google"))) {
+            s3Uploader.deleteFiles(List.of(oldImageUrl));
+        }
+        return fileUrl;
+    }
+
+    // 완료 기한이 지난 업로드 파일 삭제 (여러 서버가 같이 실행해도 삭제는 중복되어도 무방)
+    @Scheduled(fixedDelayString = "${cloud.aws.s3.presigned.sweep-interval-ms:600000}")
+    public void sweepExpiredUploads() {
+        try {
+            Set<String> expiredKeys = stringRedisTemplate.opsForZSet()
+                    .rangeByScore(PENDING_KEY, 0, System.currentTimeMillis(), 0, 1000);
+            if (expiredKeys == null || expiredKeys.isEmpty()) {
+                return;
+            }
+            s3Uploader.deleteQuietly(new ArrayList<>(expiredKeys));
+            stringRedisTemplate.opsForZSet().remove(PENDING_KEY, expiredKeys.toArray());
+            log.info("완료되지 않은 업로드 파일 {}개 삭제", expiredKeys.size());
+        } catch (RuntimeException e) {
+            log.warn("완료되지 않은 업로드 파일 삭제 실패 : {}", e.getMessage());
+        }
+    }
+
+    private List<String> normalizeKeys(List<String> keys, int maxFiles) {
+        List<String> claimKeys = (keys == null) ? List.of() : keys.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        if (claimKeys.isEmpty() || claimKeys.size() > maxFiles) {
+            throw new InvalidUploadException("업로드 완료할 파일은 1개 이상 " + maxFiles + "개 이하여야 합니다.");
+        }
+        return claimKeys;
+    }
+
+    /**
+     * 발급한 키를 소모하고, 버킷에 올라온 파일을 확인해서 공개로 전환한 뒤 파일 URL 반환
+     * 키를 소모한 뒤 확인에 실패하면 해당 파일을 모두 삭제한다 (다시 발급받아 업로드)
+     * 대기 목록에서는 빼지 않으므로, 여기서 삭제에 실패하거나 서버가 중간에 죽어도 정리 작업이 다시 삭제한다
+     */
+    private List<String> claimUploads(Long memberId, List<String> claimKeys, String directory) {
+        List<String> issuedKeys = claimKeys.stream()
+                .map(key -> ISSUED_KEY_PREFIX + key)
+                .toList();
+        List<String> owners = stringRedisTemplate.opsForValue().multiGet(issuedKeys);
+        for (int i = 0; i < claimKeys.size(); i++) {
+            String owner = (owners != null) ? owners.get(i) : null;
+            if (!claimKeys.get(i).startsWith(directory + "/") || !memberId.toString().equals(owner)) {
+                throw new InvalidUploadException("발급되지 않았거나 만료된 업로드입니다.");
+            }
+        }
+        // 같은 키로 동시에 완료 요청이 오면 한 요청만 모든 키를 삭제할 수 있다
+        Long claimed = stringRedisTemplate.delete(issuedKeys);
+        if (claimed == null || claimed < issuedKeys.size()) {
+            throw new InvalidUploadException("이미 완료된 업로드입니다.");
+        }
+
+        List<String> fileUrls = new ArrayList<>(claimKeys.size());
+        try {
+            for (String key : claimKeys) {
+                Optional<ObjectMetadata> metadata = s3Uploader.findObjectMetadata(key);
+                String invalidReason = metadata.map(this::validate)
+                        .orElse("업로드되지 않은 파일이 있습니다.");
+                if (invalidReason != null) {
+                    throw new InvalidUploadException(invalidReason);
+                }
+            }
+            for (String key : claimKeys) {
+                s3Uploader.makePublic(key);
+                fileUrls.add(s3Uploader.getFileUrl(key));
+            }
+        } catch (RuntimeException e) {
+            s3Uploader.deleteQuietly(claimKeys);
+            throw e;
+        }
+        return fileUrls;
+    }
+
+    // DB 커밋까지 끝난 키만 대기 목록에서 뺀다, 실패하면 정리 작업이 사용 중인 파일을 지우므로 에러로 남긴다
+    private void removePending(List<String> claimKeys) {
+        try {
+            stringRedisTemplate.opsForZSet().remove(PENDING_KEY, claimKeys.toArray());
+        } catch (RuntimeException e) {
+            log.error("업로드 대기 목록에서 키 제거 실패 {} : {}", claimKeys, e.getMessage());
+        }
+    }
+
+    // 문제가 없으면 null
+    private String validate(ObjectMetadata metadata) {
+        String contentType = metadata.getContentType();
+        if (contentType == null || !contentType.startsWith("image/")) {
+            return "이미지 파일이 아닙니다.";
+        }
+        if (metadata.getContentLength() > maxFileSize) {
+            return "파일 크기는 " + maxFileSize + " 바이트 이하여야 합니다.";
+        }
+        return null;
+    }
+
+    private Long getMemberId(String email) {
+        return memberRepository.getIdMyEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
+
+    // 키에 쓰는 파일 이름은 경로와 특수문자를 제거 (한글, 영문, 숫자, . _ - 만 허용)
+    private String sanitizeFileName(String fileName) {
+        if (fileName == null) {
+            return "image";
+        }
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1)
+                .replaceAll("[^0-9A-Za-z가-힣._-]", "_");
+        return name.isBlank() ? "image" : name;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.project3.service;
+
+import com.example.project3.repository.MemberRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * 닉네임 -> 회원 ID 캐시
+ *
+ * 닉네임은 변경될 수 있으므로 캐시된 ID는 그대로 믿지 않는다.
+ * 사용하는 쪽에서 ID로 조회한 회원의 닉네임이 요청한 닉네임과 다르면 evict 후 다시 조회한다.
+ * DB 콜레이션은 대소문자와 뒤 공백을 구분하지 않으므로 캐시 키와 닉네임 비교도 같은 기준으로 정규화한다.
+ * ("ALICE", "alice "는 같은 회원으로 한 항목만 사용)
+ * 조회가 전역 잠금 없이 이루어지도록 Caffeine 사용 (최대 개수를 넘으면 최근에 덜 쓰인 닉네임부터 제거)
+ */
+@Component
+public class MemberIdCache {
+
+    private final MemberRepository memberRepository;
+    private final Cache<String, Long> cache;
+
+    public MemberIdCache(MemberRepository memberRepository,
+                         @Value("${member.cache.nickname.max-entries:10000}") int maxEntries) {
+        this.memberRepository = memberRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // DB 조회 중 다른 요청을 막지 않도록 cache.get(key, loader) 대신 조회 후 저장
+    public Long getIdByNickName(String nickName) {
+        String key = normalize(nickName);
+        Long memberId = cache.getIfPresent(key);
+        if (memberId != null) {
+            return memberId;
+        }
+
+        memberId = memberRepository.findIdByNickName(nickName)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with nickName: " + nickName));
+        cache.put(key, memberId);
+        return memberId;
+    }
+
+    public void evict(String nickName) {
+        cache.invalidate(normalize(nickName));
+    }
+
+    // DB 콜레이션 기준으로 같은 닉네임인지 (악센트 등 나머지 차이는 다르다고 보고 다시 조회)
+    public static boolean isSameNickName(String nickName, String other) {
+        return other != null && normalize(nickName).equals(normalize(other));
+    }
+
+    private static String normalize(String nickName) {
+        int end = nickName.length();
+        while (end > 0 && nickName.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return nickName.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+}
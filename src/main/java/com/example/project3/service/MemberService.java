@@ -42,6 +42,7 @@ public class MemberService {
     private final PostRepository postRepository;
     private final S3Uploader s3Uploader;
     private final RedisUtil redisUtil;
+    private final AnonymousFeedCache anonymousFeedCache;
 
     public static final String DEFAULT_IMAGE_URL = "https://meatwiki.nii.ac.jp/confluence/images/icons/profilepics/anonymous.png";
 
@@ -128,6 +129,7 @@ public class MemberService {
                     }
 
                     memberRepository.delete(member);
+                    anonymousFeedCache.evictAll();
                     log.info("{} 계정 정보를 삭제합니다.", email);
                 });
     }
@@ -197,6 +199,8 @@ public class MemberService {
                             imageUrl = null;
                         }
                         member.updateUserInfo(address, nickName, message, imageUrl);
+                        // 비로그인 목록 캐시에 작성자 닉네임/프로필 이미지가 들어 있다
+                        anonymousFeedCache.evictAll();
                         log.info("회원정보가 변경되었습니다.");
                     } catch (IOException e) {
                         log.error("파일 업로드 중 에러 발생");
@@ -0,0 +1,119 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.dto.response.post.PostProjection;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 상세 조회(/api/post/{postId}) 응답 캐시
+ *
+ * 조회자에 따라 달라지는 값은 좋아요 여부(liked)뿐이므로, liked가 false인 JSON을 한 번 직렬화해서 바이트 배열로 보관하고
+ * 좋아요를 누른 조회자에게는 liked 값 자리만 true로 바꾼 배열을 응답한다. (캐시 적중 시 DTO 생성/직렬화 없음)
+ * true로 바꾼 배열은 처음 필요할 때 한 번만 만들어 같은 캐시 항목에 보관한다.
+ * 캐시 항목은 직렬화할 때 사용한 PostProjection(version, 작성자 정보 포함)과 함께 저장되고,
+ * 매 요청마다 조회한 PostProjection과 다르면 다시 만든다. 서버마다 따로 갖는 캐시여도 오래된 응답을 주지 않는다.
+ * 조회가 전역 잠금 없이 이루어지도록 Caffeine 사용 (최대 개수를 넘으면 최근에 덜 쓰인 게시글부터 제거)
+ */
+@Component
+public class PostDetailCache {
+
+    private static final String LIKED_KEY = "\"liked\":";
+    private static final byte[] LIKED_FALSE = (LIKED_KEY + "false").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+    private static final int FALSE_LENGTH = "false".length();
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Long, CachedPostDetail> cache;
+
+    public PostDetailCache(ObjectMapper objectMapper,
+                           @Value("${post.cache.detail.max-entries:1000}") int maxEntries) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .build();
+    }
+
+    // 캐시된 응답이 현재 게시글과 같으면 그대로, 아니면 responseDto로 다시 직렬화해서 저장
+    public byte[] get(PostProjection post, boolean liked, Supplier<PostResponseDto> responseDto) {
+        CachedPostDetail cached = cache.getIfPresent(post.postId());
+        if (cached == null || !cached.post.equals(post)) {
+            cached = serialize(post, responseDto.get());
+            cache.put(post.postId(), cached);
+        }
+        return liked ? cached.likedJson() : cached.json;
+    }
+
+    public void evict(Long postId) {
+        cache.invalidate(postId);
+    }
+
+    private static final class CachedPostDetail {
+
+        private final PostProjection post;
+        private final byte[] json;
+        // json에서 liked 값(false)이 시작하는 위치
+        private final int likedValueIndex;
+        // 좋아요를 누른 조회자가 처음 읽을 때 생성
+        private volatile byte[] likedJson;
+
+        private CachedPostDetail(PostProjection post, byte[] json, int likedValueIndex) {
+            this.post = post;
+            this.json = json;
+            this.likedValueIndex = likedValueIndex;
+        }
+
+        // "false" 자리에 "true"를 넣은 복사본, 동시에 처음 읽으면 두 번 만들 수 있지만 내용이 같으므로 잠그지 않는다
+        private byte[] likedJson() {
+            byte[] cached = likedJson;
+            if (cached != null) {
+                return cached;
+            }
+
+            byte[] created = new byte[json.length - FALSE_LENGTH + TRUE.length];
+            System.arraycopy(json, 0, created, 0, likedValueIndex);
+            System.arraycopy(TRUE, 0, created, likedValueIndex, TRUE.length);
+            System.arraycopy(json, likedValueIndex + FALSE_LENGTH, created, likedValueIndex + TRUE.length,
+                    json.length - likedValueIndex - FALSE_LENGTH);
+            likedJson = created;
+            return created;
+        }
+    }
+
+    private CachedPostDetail serialize(PostProjection post, PostResponseDto responseDto) {
+        byte[] json;
+        try {
+            responseDto.setLiked(false);
+            json = objectMapper.writeValueAsBytes(responseDto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("게시글 상세 직렬화 실패", e);
+        }
+
+        // 문자열 값 안의 따옴표는 이스케이프되므로 "liked":false는 최상위 liked 필드에서만 나온다
+        int keyIndex = indexOf(json, LIKED_FALSE);
+        if (keyIndex < 0) {
+            throw new IllegalStateException("게시글 상세 JSON에 liked 필드가 없습니다.");
+        }
+        return new CachedPostDetail(post, json, keyIndex + LIKED_KEY.length());
+    }
+
+    private static int indexOf(byte[] source, byte[] target) {
+        outer:
+        for (int i = 0; i <= source.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (source[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.repository.MemberRepository;
+import com.example.project3.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 회원의 전체 게시글을 NDJSON(한 줄에 PostResponseDto 하나)으로 내보내기
+ *
+ * 게시글은 (member_id, post_id) 인덱스로 EXPORT_CHUNK_SIZE 만큼씩 키셋 조회하고, 미디어/해시태그/좋아요 여부를 조립해서 바로 쓴다.
+ * 게시글 수와 상관없이 메모리 사용량은 한 묶음 크기로 일정하다.
+ * 묶음마다 짧은 읽기 전용 트랜잭션에서 조회/조립만 하고, 응답을 쓰는 동안에는 커넥션을 잡고 있지 않는다.
+ * (느린 클라이언트나 동시 내보내기가 많아도 커넥션 풀을 한 요청당 최대 하나, 잠깐씩만 쓴다)
+ */
+@Slf4j
+@Service
+public class PostExportService {
+
+    private static final int EXPORT_CHUNK_SIZE = 100;
+    private static final byte NEW_LINE = '\n';
+
+    private final PostRepository postRepository;
+    private final MemberRepository memberRepository;
+    private final PostResponseAssembler postResponseAssembler;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate chunkTransactionTemplate;
+
+    public PostExportService(PostRepository postRepository,
+                             MemberRepository memberRepository,
+                             PostResponseAssembler postResponseAssembler,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.memberRepository = memberRepository;
+        this.postResponseAssembler = postResponseAssembler;
+        this.objectMapper = objectMapper;
+
+        this.chunkTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkTransactionTemplate.setReadOnly(true);
+    }
+
+    // 응답을 시작하기 전에 회원이 있는지 확인
+    public Long getMemberIdByNickName(String nickName) {
+        return memberRepository.findIdByNickName(nickName)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with nickName: " + nickName));
+    }
+
+    public void exportPostsByMember(Long memberId, String viewerEmail, OutputStream out) throws IOException {
+        int exported = 0;
+        long cursor = Long.MAX_VALUE;
+
+        while (true) {
+            long lastPostId = cursor;
+            List<PostProjection> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+            List<PostResponseDto> responseDtos = chunkTransactionTemplate.execute(status -> {
+                chunk.addAll(postRepository.findProjectionSliceByMemberId(
+                        memberId, lastPostId, PageRequest.of(0, EXPORT_CHUNK_SIZE)));
+                return chunk.isEmpty() ? List.<PostResponseDto>of() : postResponseAssembler.assemble(chunk, viewerEmail);
+            });
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            for (PostResponseDto responseDto : responseDtos) {
+                out.write(objectMapper.writeValueAsBytes(responseDto));
+                out.write(NEW_LINE);
+            }
+            out.flush();
+            exported += responseDtos.size();
+
+            if (chunk.size() < EXPORT_CHUNK_SIZE) {
+                break;
+            }
+            cursor = chunk.get(chunk.size() - 1).postId();
+        }
+
+        log.info("회원 {}의 게시글 {}건을 내보냈습니다.", memberId, exported);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.dto.response.post.PostHashtagMapping;
+import com.example.project3.dto.response.post.PostMediaMapping;
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.entity.Post;
+import com.example.project3.repository.MediaFileRepository;
+import com.example.project3.repository.MemberRepository;
+import com.example.project3.repository.PostHashtagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * 게시글 목록(페이지)을 PostResponseDto 목록으로 조립
+ *
+ * 게시글마다 회원/좋아요/미디어/해시태그를 따로 조회하지 않고,
+ * 페이지 단위로 한 번씩만 조회해서 페이지 크기와 상관없이 쿼리 수가 일정하도록 한다.
+ *  1. 로그인한 회원 ID 조회 (1회)
+ *  2. 페이지 내 게시글 중 회원이 좋아요 누른 게시글 ID 조회 (LikeMembershipIndex, 적재된 게시글은 DB 조회 없음)
+ *  3. 페이지 내 게시글의 미디어 URL 조회 (IN 쿼리 1회)
+ *  4. 페이지 내 게시글의 해시태그 이름 조회 (IN 쿼리 1회)
+ * 게시글과 작성자 정보는 PostProjection으로 함께 조회된 것을 사용한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class PostResponseAssembler {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final MemberRepository memberRepository;
+    private final LikeMembershipIndex likeMembershipIndex;
+    private final MediaFileRepository mediaFileRepository;
+    private final PostHashtagRepository postHashtagRepository;
+
+    public PostResponseDto assemble(Post post, String userEmail) {
+        return assemble(PostProjection.from(post), userEmail);
+    }
+
+    public PostResponseDto assemble(PostProjection post, String userEmail) {
+        return assemble(List.of(post), userEmail).get(0);
+    }
+
+    public List<PostResponseDto> assemble(List<PostProjection> posts, String userEmail) {
+        return assemble(posts, findLikedPostIds(posts, userEmail));
+    }
+
+    // 좋아요 여부를 먼저 조회한 경우 (ETag 계산 등)
+    public List<PostResponseDto> assemble(List<PostProjection> posts, Set<Long> likedPostIds) {
+        if (posts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Long> postIds = toPostIds(posts);
+
+        Map<Long, List<String>> mediaUrlsByPostId = new HashMap<>();
+        for (PostMediaMapping media : mediaFileRepository.findFileUrlsByPostIds(postIds)) {
+            mediaUrlsByPostId.computeIfAbsent(media.getPostId(), id -> new ArrayList<>())
+                    .add(media.getFileUrl());
+        }
+
+        Map<Long, List<String>> hashtagNamesByPostId = new HashMap<>();
+        for (PostHashtagMapping hashtag : postHashtagRepository.findHashtagNamesByPostIds(postIds)) {
+            List<String> names = hashtagNamesByPostId.computeIfAbsent(hashtag.getPostId(), id -> new ArrayList<>());
+            if (!names.contains(hashtag.getHashtagName())) {
+                names.add(hashtag.getHashtagName());
+            }
+        }
+
+        List<PostResponseDto> responseDtos = new ArrayList<>(posts.size());
+        for (PostProjection post : posts) {
+            responseDtos.add(PostResponseDto.builder()
+                    .postId(post.postId())
+                    .userId(post.memberId())
+                    .userImg(post.memberImageUrl())
+                    .userName(post.memberName())
+                    .userEmail(post.memberEmail())
+                    .nickName(post.memberNickName())
+                    .date(post.createdAt().format(DATE_FORMATTER))
+                    .location(post.postLocation())
+                    .temperature(post.postTemperature())
+                    .mediaUrls(mediaUrlsByPostId.getOrDefault(post.postId(), new ArrayList<>()))
+                    .content(post.postContent())
+                    .liked(likedPostIds.contains(post.postId()))
+                    .likedCount(post.countLiked())
+                    .hashtagNames(hashtagNamesByPostId.getOrDefault(post.postId(), new ArrayList<>()))
+                    .build());
+        }
+        return responseDtos;
+    }
+
+    // 사용자가 로그인하지 않은 경우 좋아요 여부는 모두 false
+    public Set<Long> findLikedPostIds(List<PostProjection> posts, String userEmail) {
+        if (userEmail == null || posts.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Long memberId = memberRepository.getIdMyEmail(userEmail)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail));
+
+        return likeMembershipIndex.findLikedPostIds(memberId, posts);
+    }
+
+    private List<Long> toPostIds(List<PostProjection> posts) {
+        return posts.stream()
+                .map(PostProjection::postId)
+                .toList();
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.post.PostSearchSource;
+import com.example.project3.entity.Post;
+import com.example.project3.exception.SearchIndexNotReadyException;
+import com.example.project3.repository.PostRepository;
+import com.example.project3.util.TransactionUtil;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.*;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.*;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * 게시글 본문/위치 검색용 역색인 (Lucene, 로컬 디스크)
+ *
+ * LIKE '%검색어%'는 전체 테이블을 읽으므로, 서버마다 로컬 디스크에 역색인을 두고 검색한다.
+ *  - 분석 : 한글/한자/일본어는 두 글자씩 자른 bigram, 영어/숫자는 단어 단위 + 소문자 (CJKBigramFilter)
+ *    형태소 사전 없이 "날씨가" 같은 조사 붙은 어절도 "날씨"로 검색된다.
+ *    색인에는 한 글자(unigram)도 함께 넣어서 "비" 같은 한 글자 검색어도 찾는다.
+ *  - 검색어의 모든 토큰이 본문 또는 위치에 있는 게시글을 post_id 내림차순으로 반환 (커서 = 마지막 post_id)
+ *  - 게시글 등록/수정/삭제는 커밋 후 색인에 반영, 검색은 SearcherManager를 새로 고쳐 바로 보인다.
+ *    디스크 commit은 주기적으로 한다.
+ *  - 여러 서버는 각자 자기 색인을 가진다. 변경된 게시글 ID를 Redis pub/sub으로 알리고,
+ *    알림을 받은 서버는 DB에서 게시글을 다시 읽어 색인하거나 (없으면) 삭제한다.
+ *  - 색인 디렉터리는 IndexWriter 하나만 열 수 있으므로 서버(프로세스)마다 post.search.index-dir을 따로 지정한다.
+ *  - 색인이 비어 있거나 post.search.rebuild-on-startup=true 이면 시작 후 별도 스레드에서 DB 전체를 한 행씩 읽어 다시 만든다.
+ *    비어 있던 색인은 다 만들 때까지 검색하지 않는다 (SearchIndexNotReadyException, 503)
+ *    문서를 지우지 않고 postIdKey로 덮어쓰므로 재생성 중에도 검색 결과가 비지 않는다.
+ *    재생성 중에 실시간으로 반영된 게시글은 재생성이 읽은 (더 오래된) 값으로 덮어쓰지 않고,
+ *    끝난 뒤 이번 재생성에서 쓰지 않은 문서(DB에 없는 게시글)만 지운다 (generation 필드).
+ */
+@Slf4j
+@Component
+public class PostSearchIndex implements MessageListener {
+
+    private static final String FIELD_ID = "postId";
+    private static final String FIELD_ID_KEY = "postIdKey";
+    private static final String FIELD_CONTENT = "content";
+    private static final String FIELD_LOCATION = "location";
+    // 문서를 쓴 시각, 재생성 후 이보다 오래된 문서는 DB에 없는 게시글
+    private static final String FIELD_GENERATION = "generation";
+    private static final String CHANNEL = "post:search-index";
+    private static final int MAX_QUERY_TOKENS = 32;
+    private static final Sort POST_ID_DESC = new Sort(new SortField(FIELD_ID, SortField.Type.LONG, true));
+
+    private final PostRepository postRepository;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Analyzer indexAnalyzer = cjkAnalyzer(true);
+    private final Analyzer queryAnalyzer = cjkAnalyzer(false);
+    private final Path indexDir;
+    private final boolean rebuildOnStartup;
+    // open()에서 생성
+    private FSDirectory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    // 비어 있던 색인을 재생성하는 동안 false
+    private volatile boolean ready;
+    // 자기가 보낸 변경 알림은 이미 반영했으므로 무시
+    private final String instanceId = UUID.randomUUID().toString();
+
+    // 재생성의 확인-쓰기와 실시간 반영의 기록-쓰기를 직렬화 (가상 스레드를 고정하지 않도록 synchronized 대신 사용)
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // 재생성 중에만 존재, 실시간으로 반영된 게시글 ID
+    private volatile Set<Long> changedDuringRebuild;
+
+    public PostSearchIndex(PostRepository postRepository,
+                           StringRedisTemplate stringRedisTemplate,
+                           RedisMessageListenerContainer redisMessageListenerContainer,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${post.search.index-dir:data/post-index}") String indexDir,
+                           @Value("${post.search.rebuild-on-startup:false}") boolean rebuildOnStartup) {
+        this.postRepository = postRepository;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.indexDir = Path.of(indexDir).toAbsolutePath();
+        this.rebuildOnStartup = rebuildOnStartup;
+    }
+
+    // 디렉터리 잠금은 색인을 닫을 때(@PreDestroy)까지 유지된다
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(indexDir);
+        try {
+            indexWriter = new IndexWriter(directory, new IndexWriterConfig(indexAnalyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        } catch (LockObtainFailedException e) {
+            directory.close();
+            throw new IllegalStateException("게시글 검색 색인 디렉터리를 다른 프로세스(또는 다른 애플리케이션 컨텍스트)가 사용 중입니다 : "
+                    + indexDir + ", 서버마다 post.search.index-dir을 다르게 지정해야 합니다.", e);
+        }
+        searcherManager = new SearcherManager(indexWriter, null);
+        ready = indexWriter.getDocStats().numDocs > 0;
+
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    // 재생성은 시작을 막지 않도록 별도 스레드에서 실행
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (ready && !rebuildOnStartup) {
+            return;
+        }
+        Thread.ofPlatform().name("post-search-rebuild").daemon(true).start(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("게시글 검색 색인 재생성 실패, 일부 게시글이 검색되지 않을 수 있습니다.", e);
+            } finally {
+                ready = true;
+            }
+        });
+    }
+
+    // DB 전체를 전방향 커서로 읽어 색인을 다시 만든다 (게시글 수와 상관없이 메모리 사용량 일정)
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("게시글 검색 색인 재생성이 이미 진행 중입니다.");
+            return;
+        }
+
+        long generation = System.currentTimeMillis();
+        Set<Long> changed = ConcurrentHashMap.newKeySet();
+        changedDuringRebuild = changed;
+        try {
+            int indexed = readOnlyTransactionTemplate.execute(status -> {
+                try (Stream<PostSearchSource> posts = postRepository.streamSearchSources()) {
+                    int count = 0;
+                    for (PostSearchSource post : (Iterable<PostSearchSource>) posts::iterator) {
+                        writeLock.lock();
+                        try {
+                            if (!changed.contains(post.postId())) {
+                                indexWriter.updateDocument(idTerm(post.postId()), toDocument(post, generation));
+                                count++;
+                            }
+                        } finally {
+                            writeLock.unlock();
+                        }
+                    }
+                    return count;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+
+            // 이번 재생성 이후에 쓰인 문서만 남긴다 (재생성 중 실시간 반영 문서는 generation이 더 크다)
+            indexWriter.deleteDocuments(new BooleanQuery.Builder()
+                    .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                    .add(LongPoint.newRangeQuery(FIELD_GENERATION, generation, Long.MAX_VALUE), BooleanClause.Occur.MUST_NOT)
+                    .build());
+            indexWriter.commit();
+            log.info("게시글 검색 색인 재생성 {}건, {}ms", indexed, System.currentTimeMillis() - generation);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            changedDuringRebuild = null;
+            rebuilding.set(false);
+        }
+        refresh();
+    }
+
+    public void index(Post post) {
+        PostSearchSource source = new PostSearchSource(post.getPostId(), post.getPostContent(), post.getPostLocation());
+        TransactionUtil.afterCommit(() -> {
+            apply(source.postId(), source);
+            publish(source.postId());
+        });
+    }
+
+    public void delete(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            apply(postId, null);
+            publish(postId);
+        });
+    }
+
+    // 메시지 형식 : "{instanceId}:{postId}", DB에서 다시 읽어서 반영
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(instanceId)) {
+            return;
+        }
+        Long postId = Long.valueOf(body.substring(separator + 1));
+        try {
+            PostSearchSource source = readOnlyTransactionTemplate.execute(
+                    status -> postRepository.findSearchSourceById(postId).orElse(null));
+            apply(postId, source);
+        } catch (RuntimeException e) {
+            log.warn("게시글 검색 색인 변경 알림 반영 실패, postId = {} : {}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * 검색어의 모든 토큰을 포함한 게시글 ID (post_id 내림차순)
+     * @param before 이 ID보다 작은 게시글만 검색 (커서)
+     */
+    public List<Long> search(String queryText, long before, int limit) {
+        if (!ready) {
+            throw new SearchIndexNotReadyException("게시글 검색 색인을 만드는 중입니다.");
+        }
+        List<String> tokens = analyze(queryText);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String token : tokens) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new TermQuery(new Term(FIELD_CONTENT, token)), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(FIELD_LOCATION, token)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.FILTER);
+        }
+        query.add(LongPoint.newRangeQuery(FIELD_ID, Long.MIN_VALUE, before - 1), BooleanClause.Occur.FILTER);
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopFieldDocs hits = searcher.search(query.build(), limit, POST_ID_DESC, false);
+                List<Long> postIds = new ArrayList<>(hits.scoreDocs.length);
+                for (ScoreDoc hit : hits.scoreDocs) {
+                    postIds.add((Long) ((FieldDoc) hit).fields[0]);
+                }
+                return postIds;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // 검색은 SearcherManager가 메모리의 변경을 바로 보므로, 디스크 commit은 모아서 한다
+    @Scheduled(fixedDelayString = "${post.search.commit-interval-ms:5000}")
+    public void commit() {
+        try {
+            if (indexWriter.hasUncommittedChanges()) {
+                indexWriter.commit();
+            }
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 commit 실패 : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+        indexAnalyzer.close();
+        queryAnalyzer.close();
+    }
+
+    // source가 null이면 삭제
+    private void apply(Long postId, PostSearchSource source) {
+        writeLock.lock();
+        try {
+            Set<Long> changed = changedDuringRebuild;
+            if (changed != null) {
+                changed.add(postId);
+            }
+            if (source == null) {
+                indexWriter.deleteDocuments(idTerm(postId));
+            } else {
+                indexWriter.updateDocument(idTerm(postId), toDocument(source, System.currentTimeMillis()));
+            }
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 반영 실패, postId = {} : {}", postId, e.getMessage());
+            return;
+        } finally {
+            writeLock.unlock();
+        }
+        refresh();
+    }
+
+    private void publish(Long postId) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, instanceId + ":" + postId);
+        } catch (RuntimeException e) {
+            log.warn("게시글 검색 색인 변경 알림 실패, postId = {} : {}", postId, e.getMessage());
+        }
+    }
+
+    private Term idTerm(Long postId) {
+        return new Term(FIELD_ID_KEY, postId.toString());
+    }
+
+    private Document toDocument(PostSearchSource post, long generation) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID_KEY, post.postId().toString(), Field.Store.NO));
+        document.add(new LongPoint(FIELD_ID, post.postId()));
+        document.add(new NumericDocValuesField(FIELD_ID, post.postId()));
+        document.add(new LongPoint(FIELD_GENERATION, generation));
+        if (post.postContent() != null) {
+            document.add(new TextField(FIELD_CONTENT, post.postContent(), Field.Store.NO));
+        }
+        if (post.postLocation() != null) {
+            document.add(new TextField(FIELD_LOCATION, post.postLocation(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    private List<String> analyze(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        try (TokenStream stream = queryAnalyzer.tokenStream(FIELD_CONTENT, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken() && tokens.size() < MAX_QUERY_TOKENS) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    // 검색어는 bigram만 사용 (한 글자짜리 검색어는 unigram으로 나온다)
+    private static Analyzer cjkAnalyzer(boolean outputUnigrams) {
+        return new Analyzer() {
+            @Override
+            protected TokenStreamComponents createComponents(String fieldName) {
+                Tokenizer tokenizer = new StandardTokenizer();
+                TokenStream stream = new CJKWidthFilter(tokenizer);
+                stream = new LowerCaseFilter(stream);
+                stream = new CJKBigramFilter(stream, CJKBigramFilter.HAN | CJKBigramFilter.HIRAGANA
+                        | CJKBigramFilter.KATAKANA | CJKBigramFilter.HANGUL, outputUnigrams);
+                return new TokenStreamComponents(tokenizer, stream);
+            }
+        };
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("게시글 검색 색인 새로 고침 실패 : {}", e.getMessage());
+        }
+    }
+}
@@ -4,24 +4,40 @@ import com.example.project3.entity.*;
 import com.example.project3.entity.member.Member;
 import com.example.project3.dto.request.PostRequestDto;
 import com.example.project3.dto.request.PostUpdateRequestDto;
+import com.example.project3.dto.response.CursorSliceResponse;
 import com.example.project3.dto.response.MemberInfoPostResponseDto;
+import com.example.project3.dto.response.MemberProfileResponseDto;
 import com.example.project3.dto.response.PostLikedMemberResponseDto;
+import com.example.project3.dto.response.PostLikersResponseDto;
 import com.example.project3.dto.response.PostResponseDto;
+import com.example.project3.dto.response.post.PostLikerProjection;
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.exception.InvalidCursorException;
+import com.example.project3.exception.InvalidTemperatureException;
 import com.example.project3.repository.*;
+import com.example.project3.util.CursorUtil;
+import com.example.project3.util.ETagUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import jakarta.persistence.EntityNotFoundException;
-import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,12 +49,61 @@ public class PostService {
     private final PostLikedRepository postLikedRepository;
     private final PostHashtagRepository postHashtagRepository;
     private final MediaFileRepository mediaFileRepository;
-    private final HashtagRepository hashtagRepository;
     private final S3Uploader s3Uploader;
+    private final HashtagService hashtagService;
+    private final PostResponseAssembler postResponseAssembler;
+    private final AnonymousFeedCache anonymousFeedCache;
+    private final PostDetailCache postDetailCache;
+    private final MemberIdCache memberIdCache;
+    private final LikeCountBuffer likeCountBuffer;
+    private final LikeMembershipIndex likeMembershipIndex;
+    private final TrendingPostRanking trendingPostRanking;
+    private final HashtagPostSearch hashtagPostSearch;
+    private final HashtagTrendingTracker hashtagTrendingTracker;
+    private final PostSearchIndex postSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+
+    public static final int MAX_TEMPERATURE_RANGE = 5;
+    public static final float MIN_TEMPERATURE = -100f;
+    public static final float MAX_TEMPERATURE = 100f;
+    public static final int MAX_SEARCH_HASHTAGS = 5;
+    private static final int MAX_TOGGLE_LIKE_ATTEMPTS = 5;
+    private static final int MAX_LIKERS = 30;
+
+
+    // S3 업로드는 트랜잭션 밖에서 먼저 하고, 게시글 행은 짧은 트랜잭션으로 저장한다 (업로드 중 커넥션/잠금을 잡지 않음)
+    // 저장이 실패하면 업로드한 파일을 삭제한다
+    public Long createPost(String username, PostRequestDto requestDto) {
+        List<String> mediaUrls = s3Uploader.upload(requestDto.getMediaFiles());
+        log.info("S3 업로드 후 url 반환 = {}", mediaUrls);
 
+        return executeOrDeleteUploads(status -> savePost(username, requestDto, mediaUrls), mediaUrls);
+    }
 
-    @Transactional
-    public Long createPost(String username, PostRequestDto requestDto) {
+    // 커밋되지 않았을 때만 업로드한 파일을 삭제한다
+    // 커밋 후 작업(캐시 삭제, 검색 색인 등)에서 난 예외로 삭제하면 커밋된 게시글이 없는 파일을 가리키게 된다
+    private <T> T executeOrDeleteUploads(TransactionCallback<T> action, List<String> uploadedUrls) {
+        AtomicBoolean committed = new AtomicBoolean();
+        try {
+            return transactionTemplate.execute(status -> {
+                // afterCompletion은 커밋 후 작업에서 예외가 나도 호출된다
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completionStatus) {
+                        committed.set(completionStatus == STATUS_COMMITTED);
+                    }
+                });
+                return action.doInTransaction(status);
+            });
+        } catch (RuntimeException e) {
+            if (!committed.get()) {
+                s3Uploader.deleteFiles(uploadedUrls);
+            }
+            throw e;
+        }
+    }
+
+    private Long savePost(String username, PostRequestDto requestDto, List<String> mediaUrls) {
 
         Member member = memberRepository.findByEmail(username)
                 .orElseThrow(()->new IllegalArgumentException("가입된 정보가 없는 이메일"));
@@ -54,25 +119,21 @@ public class PostService {
         Post savedPost = postRepository.save(post);
 
         // MediaFiles 처리
-        saveMediaFiles(requestDto.getMediaFiles(), post);
+        saveMediaFiles(mediaUrls, post);
         log.info("미디어 처리 완료.");
         // Hashtag 처리
         saveHashtagNames(requestDto.getHashtags(), post);
         //Post savedPost = postRepository.save(post);
 
+        anonymousFeedCache.evictOnCreate(savedPost.getPostId());
+        postSearchIndex.index(savedPost);
+
         return savedPost.getPostId();
 
     }
 
-    private void saveMediaFiles(List<MultipartFile> mediaFiles, Post post) {
+    private void saveMediaFiles(List<String> mediaUrls, Post post) {
         log.info("사진 저장 로직 실행중");
-        if (mediaFiles == null) {
-            Collections.emptyList();
-        }
-
-        List<String> mediaUrls = s3Uploader.upload(mediaFiles); // 수정
-
-        log.info("S3 업로드 후 url 반환 = {}", mediaUrls);
         // 각 URL을 Post 엔터티에 추가
         if (post.getMediaFiles() == null) {
             post.setMediaFiles();
@@ -96,116 +157,319 @@ public class PostService {
             post.setPostHashtags(new ArrayList<>()); // null이면 새로운 리스트 생성
         }
 
-        for (String hashtagName : hashtagNames) {
-            // 데이터베이스에 해시태그가 이미 존재하는지 확인
-            Hashtag existingHashtag = hashtagRepository.findHashtagByHashtagName(hashtagName);
-
-            // 존재하지 않으면 생성 및 저장
-            if (existingHashtag == null) {
-                existingHashtag = new Hashtag(hashtagName);
-                existingHashtag = hashtagRepository.save(existingHashtag);
-            }
-
-            // PostHashtag 생성 및 저장
-            PostHashtag postHashtag = new PostHashtag(post, existingHashtag);
-            existingHashtag.addPostHashtag(postHashtag);
+        // 기존 해시태그 조회와 새 해시태그 생성을 한 번에 처리
+        List<Long> hashtagIds = hashtagService.resolveHashtagIds(hashtagNames);
+        for (Long hashtagId : hashtagIds) {
+            // PostHashtag 생성 및 저장 (Hashtag.postHashtags에는 추가하지 않음)
+            PostHashtag postHashtag = new PostHashtag(post, hashtagService.getReference(hashtagId));
 
             // 저장된 해시태그의 이름을 리스트에 추가
             post.getPostHashtags().add(postHashtag);
         }
+        hashtagService.addUsageCount(hashtagIds, 1);
+        hashtagTrendingTracker.record(hashtagIds);
 
     }
 
 
 
-    @Transactional
+    // 같은 회원이 동시에 누르면 (post_id, member_id) 행 잠금 교착이 생길 수 있어 새 트랜잭션으로 재시도
     public boolean toggleLike(Long postId, String userEmail) {
         if (userEmail == null) {
             // 사용자가 로그인되지 않았습니다. false를 반환합니다.
             return false;
         }
 
-        Member member = memberRepository.findByEmail(userEmail)
+        Long memberId = memberRepository.getIdMyEmail(userEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail));
 
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
+        // INSERT IGNORE는 외래 키 오류도 무시하므로 게시글 존재 여부는 먼저 확인
+        if (!postRepository.existsById(postId)) {
+            throw new EntityNotFoundException("Post not found with id: " + postId);
+        }
 
-        PostLiked postLiked = postLikedRepository.findByPostAndMember(post, member);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> toggleLike(postId, memberId)));
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= MAX_TOGGLE_LIKE_ATTEMPTS) {
+                    throw e;
+                }
+                log.info("좋아요 처리 중 잠금 충돌, 다시 시도 postId = {}, memberId = {}", postId, memberId);
+            }
+        }
+    }
 
-        if (postLiked != null) {
-            // 이미 좋아요를 눌렀으면 취소
-            postLikedRepository.delete(postLiked);
-            post.decreaseCountLiked();
-            return false;
-        } else {
-            // 좋아요를 누르지 않았으면 좋아요 추가
-            postLikedRepository.save(PostLiked.builder().post(post).member(member).liked(true).build());
-            post.increaseCountLiked();
+    // 읽지 않고 바로 추가/삭제하고, 실제로 바뀐 행이 있을 때만 좋아요 수를 변경
+    // post 행은 잠그지 않고, 좋아요 수는 LikeCountBuffer에서 모아서 반영
+    private boolean toggleLike(Long postId, Long memberId) {
+        // 좋아요를 누르지 않았으면 좋아요 추가 (unique 제약으로 이미 있으면 0)
+        if (postLikedRepository.insertIgnore(postId, memberId) == 1) {
+            likeCountBuffer.add(postId, 1);
+            likeMembershipIndex.add(postId, memberId);
+            trendingPostRanking.recordLike(postId, memberId);
             return true;
         }
+
+        // 이미 좋아요를 눌렀으면 취소 (동시에 다른 요청이 먼저 취소했으면 0)
+        if (postLikedRepository.deleteByPostIdAndMemberId(postId, memberId) == 1) {
+            likeCountBuffer.add(postId, -1);
+            likeMembershipIndex.remove(postId, memberId);
+            trendingPostRanking.recordUnlike(postId, memberId);
+        }
+        return false;
     }
 
+    @Transactional(readOnly = true)
     public Page<PostResponseDto> getAllPostList(Long lastPostId, Pageable pageable, String userEmail) {
         // 게시글을 페이징하여 가져오기
-        Page<Post> posts = postRepository.findByPostIdLessThanOrderByCreatedAtDesc(lastPostId, pageable);
+        Page<PostProjection> posts = postRepository.findProjectionPage(lastPostId, pageable);
 
-        // Page<Post>를 Page<PostResponseDto>로 변환
-        Page<PostResponseDto> postResponseDtoPage = posts.map(post -> createPostResponseDto(post, userEmail));
+        // 조회 결과를 Page<PostResponseDto>로 변환
+        return toPostResponseDtoPage(posts, userEmail);
+    }
 
-        return postResponseDtoPage;
+    // 비로그인 목록은 직렬화된 JSON을 캐시에서 그대로 응답 (캐시 적중 시 DB 접근 없음)
+    public String getAnonymousPostListJson(Long lastPostId, Pageable pageable) {
+        if (!anonymousFeedCache.isCacheable(pageable)) {
+            return anonymousFeedCache.serialize(readAnonymousPostList(lastPostId, pageable));
+        }
+
+        return anonymousFeedCache.get(lastPostId, pageable.getPageSize())
+                .orElseGet(() -> anonymousFeedCache.put(lastPostId, pageable.getPageSize(),
+                        readAnonymousPostList(lastPostId, pageable)));
     }
 
-    private PostResponseDto createPostResponseDto(Post post, String userEmail) {
-        Member member = (userEmail != null)
-                ? memberRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + userEmail))
-                : post.getMember(); // 사용자가 로그인하지 않은 경우 게시글 작성자 정보 사용
+    // 같은 빈 안의 호출은 @Transactional이 적용되지 않으므로, 목록/작성자/미디어 조회가 한 읽기 트랜잭션을 보도록 직접 연다
+    // (open-in-view=false라 트랜잭션 없이 호출하면 쿼리마다 따로 커밋되어 한 페이지에 서로 다른 시점의 값이 섞인다)
+    private Page<PostResponseDto> readAnonymousPostList(Long lastPostId, Pageable pageable) {
+        TransactionTemplate readOnlyTransactionTemplate =
+                new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        readOnlyTransactionTemplate.setReadOnly(true);
+        return readOnlyTransactionTemplate.execute(status -> getAllPostList(lastPostId, pageable, null));
+    }
 
+    // 페이지 단위로 한 번에 조립해서 게시글 수와 상관없이 쿼리 수를 일정하게 유지
+    private Page<PostResponseDto> toPostResponseDtoPage(Page<PostProjection> posts, String userEmail) {
+        List<PostResponseDto> content = postResponseAssembler.assemble(posts.getContent(), userEmail);
+        return new PageImpl<>(content, posts.getPageable(), posts.getTotalElements());
+    }
 
-        List<String> mediaUrls = post.getMediaFiles().stream()
-                .map(MediaFile::getFileUrl)
-                .collect(Collectors.toList());
 
-        boolean isPostLiked = userEmail != null && postLikedRepository.existsByPostAndMember(post, member); // 사용자가 로그인하지 않은 경우 좋아요 여부 false로 설정
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-
-        return PostResponseDto.builder()
-                .postId(post.getPostId())
-                .userId(post.getMember().getId())
-                .userImg(post.getMember().getImageURL())
-                .userName(post.getMember().getName())
-                .userEmail(post.getMember().getEmail())
-                .nickName(post.getMember().getNickName())
-                .date(post.getCreatedAt().format(formatter))
-                .location(post.getPostLocation())
-                .temperature(post.getPostTemperature())
-                .mediaUrls(mediaUrls)
-                .content(post.getPostContent())
-                .liked(isPostLiked)
-                .likedCount(post.getCountLiked())
-                .hashtagNames(post.getPostHashtags().stream()
-                        .map(PostHashtag::getHashtag)
-                        .map(Hashtag::getHashtagName)
-                        .distinct()
-                        .collect(Collectors.toList()))
-                .build();
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getPostSlice(String cursor, int size, String userEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        List<PostProjection> posts = postRepository.findProjectionSlice(
+                CursorUtil.decode(cursor), PageRequest.ofSize(sliceSize + 1));
+
+        return toCursorSlice(posts, sliceSize, userEmail, notModified);
     }
 
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getPostSliceByHashtag(String hashtag, String cursor, int size, String userEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        Long cursorPostId = CursorUtil.decode(cursor);
+        // 해시태그 이름은 사전에서 ID로 바꾸고, (hashtag_id, post_id) 인덱스로 조회
+        List<PostProjection> posts = hashtagService.findHashtagId(hashtag)
+                .map(hashtagId -> postRepository.findProjectionSliceByHashtagId(
+                        hashtagId, cursorPostId, PageRequest.ofSize(sliceSize + 1)))
+                .orElse(Collections.emptyList());
+
+        return toCursorSlice(posts, sliceSize, userEmail, notModified);
+    }
 
-    public PostResponseDto getPostById(Long postId, String userEmail) {
-        Post post = postRepository.findById(postId)
+    // 여러 해시태그로 게시글 커서 조회 (matchAll이면 모든 태그, 아니면 하나 이상 포함)
+    // 태그별 posting list를 교집합/합집합한 ID 목록으로 게시글 조회
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getPostSliceByHashtags(List<String> hashtags, boolean matchAll, String cursor, int size, String userEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        long before = CursorUtil.decode(cursor);
+
+        Set<Long> hashtagIds = new LinkedHashSet<>();
+        for (String hashtag : hashtags.subList(0, Math.min(hashtags.size(), MAX_SEARCH_HASHTAGS))) {
+            Optional<Long> hashtagId = hashtagService.findHashtagId(hashtag);
+            if (hashtagId.isPresent()) {
+                hashtagIds.add(hashtagId.get());
+            } else if (matchAll) {
+                // 없는 태그가 하나라도 있으면 교집합은 비어 있다
+                return new CursorSliceResponse<>(Collections.emptyList(), null);
+            }
+        }
+        if (hashtagIds.isEmpty()) {
+            return new CursorSliceResponse<>(Collections.emptyList(), null);
+        }
+
+        HashtagPostSearch.SearchResult result = matchAll
+                ? hashtagPostSearch.searchAll(hashtagIds, before, sliceSize + 1)
+                : hashtagPostSearch.searchAny(hashtagIds, before, sliceSize + 1);
+
+        List<Long> postIds = result.postIds();
+        boolean hasNext = postIds.size() > sliceSize;
+        List<PostProjection> content = findProjectionsInOrder(hasNext ? postIds.subList(0, sliceSize) : postIds);
+
+        String nextCursor = null;
+        if (hasNext) {
+            nextCursor = CursorUtil.encode(postIds.get(sliceSize - 1));
+        } else if (result.resumeBefore() != null) {
+            nextCursor = CursorUtil.encode(result.resumeBefore());
+        }
+
+        return toCursorSlice(content, nextCursor, userEmail, notModified);
+    }
+
+    // 본문/위치 검색 (PostSearchIndex에서 ID만 찾은 뒤 게시글 조회), 커서는 마지막 post_id
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> searchPosts(String query, String cursor, int size, String userEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        if (query.isBlank()) {
+            return new CursorSliceResponse<>(Collections.emptyList(), null);
+        }
+
+        List<Long> postIds = postSearchIndex.search(query, CursorUtil.decode(cursor), sliceSize + 1);
+        boolean hasNext = postIds.size() > sliceSize;
+        List<PostProjection> content = findProjectionsInOrder(hasNext ? postIds.subList(0, sliceSize) : postIds);
+
+        String nextCursor = hasNext ? CursorUtil.encode(postIds.get(sliceSize - 1)) : null;
+
+        return toCursorSlice(content, nextCursor, userEmail, notModified);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getPostSliceByUser(String nickName, String cursor, int size, String loggedInUserEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        List<PostProjection> posts = postRepository.findProjectionSliceByNickName(
+                nickName, CursorUtil.decode(cursor), PageRequest.ofSize(sliceSize + 1));
+
+        return toCursorSlice(posts, sliceSize, loggedInUserEmail, notModified);
+    }
+
+    // 기온 ±range 범위의 게시글 커서 조회
+    // 1도 단위 버킷마다 (temperature_bucket, post_id) 인덱스로 ID만 조회한 뒤, 큰 ID 순으로 합친다
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getPostSliceByTemperature(float temperature, int range, String cursor, int size, String userEmail, Predicate<String> notModified) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        int temperatureRange = Math.max(0, Math.min(range, MAX_TEMPERATURE_RANGE));
+        Long lastPostId = CursorUtil.decode(cursor);
+
+        // 버킷 수가 range로 제한되도록 기온 값부터 검사 (Infinity 등은 버킷 계산 시 int 범위를 넘는다)
+        if (!Float.isFinite(temperature) || temperature < MIN_TEMPERATURE || temperature > MAX_TEMPERATURE) {
+            throw new InvalidTemperatureException("Invalid temperature: " + temperature);
+        }
+
+        float lowTemperature = temperature - temperatureRange;
+        float highTemperature = temperature + temperatureRange;
+        int lowBucket = Post.toTemperatureBucket(lowTemperature);
+        int highBucket = Post.toTemperatureBucket(highTemperature);
+
+        // 버킷별로 이미 내림차순이므로, 합친 뒤 상위 sliceSize + 1 개만 남기면 된다
+        // 양 끝 버킷에는 범위 밖 기온도 있으므로 정확한 기온 범위로 한 번 더 거른다
+        List<Long> postIds = new ArrayList<>();
+        for (int bucket = lowBucket; bucket <= highBucket; bucket++) {
+            postIds.addAll(postRepository.findIdsByTemperatureBucket(bucket, lowTemperature, highTemperature, lastPostId, PageRequest.ofSize(sliceSize + 1)));
+        }
+        postIds.sort(Comparator.reverseOrder());
+        if (postIds.size() > sliceSize + 1) {
+            postIds = postIds.subList(0, sliceSize + 1);
+        }
+
+        return toCursorSlice(findProjectionsInOrder(postIds), sliceSize, userEmail, notModified);
+    }
+
+    // 인기 게시글 조회 (Redis 순위에서 ID만 가져온 뒤 게시글 조회), 커서는 순위 offset
+    @Transactional(readOnly = true)
+    public CursorSliceResponse<PostResponseDto> getTrendingPostSlice(String cursor, int size, String userEmail) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        long offset = cursor.isBlank() ? 0 : CursorUtil.decode(cursor);
+        // 순위 커서는 오프셋이므로 음수나 int 범위를 넘는 값은 거부 (offset + size 오버플로 방지)
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+
+        List<Long> postIds = trendingPostRanking.findPostIds(offset, sliceSize + 1);
+        boolean hasNext = postIds.size() > sliceSize;
+        List<PostProjection> content = findProjectionsInOrder(hasNext ? postIds.subList(0, sliceSize) : postIds);
+
+        String nextCursor = hasNext ? CursorUtil.encode(offset + sliceSize) : null;
+
+        return new CursorSliceResponse<>(postResponseAssembler.assemble(content, userEmail), nextCursor);
+    }
+
+    // ID 목록 순서대로 게시글 조회 (삭제된 게시글은 제외)
+    private List<PostProjection> findProjectionsInOrder(List<Long> postIds) {
+        Map<Long, PostProjection> postsById = postRepository.findProjectionsByIds(postIds).stream()
+                .collect(Collectors.toMap(PostProjection::postId, Function.identity()));
+        return postIds.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 한 건 더 조회해서 다음 페이지 존재 여부를 판단 (count 쿼리 없음)
+    // 클라이언트가 가진 ETag와 같으면(notModified) 미디어/해시태그 조회와 DTO 조립 없이 null 반환
+    private CursorSliceResponse<PostResponseDto> toCursorSlice(List<PostProjection> posts, int sliceSize, String userEmail, Predicate<String> notModified) {
+        boolean hasNext = posts.size() > sliceSize;
+        List<PostProjection> content = hasNext ? posts.subList(0, sliceSize) : posts;
+
+        String nextCursor = hasNext ? CursorUtil.encode(content.get(content.size() - 1).postId()) : null;
+
+        return toCursorSlice(content, nextCursor, userEmail, notModified);
+    }
+
+    private CursorSliceResponse<PostResponseDto> toCursorSlice(List<PostProjection> content, String nextCursor, String userEmail, Predicate<String> notModified) {
+        Set<Long> likedPostIds = postResponseAssembler.findLikedPostIds(content, userEmail);
+        if (notModified.test(toETag(content, likedPostIds, nextCursor))) {
+            return null;
+        }
+
+        return new CursorSliceResponse<>(postResponseAssembler.assemble(content, likedPostIds), nextCursor);
+    }
+
+
+    // 클라이언트가 가진 ETag와 같으면(notModified) 미디어/해시태그 조회와 DTO 조립 없이 null 반환
+    // 응답은 PostDetailCache에 직렬화된 JSON 바이트를 그대로 사용
+    @Transactional(readOnly = true)
+    public byte[] getPostDetailJson(Long postId, String userEmail, Predicate<String> notModified) {
+        PostProjection post = postRepository.findProjectionById(postId)
                 .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
 
-        return createPostResponseDto(post, userEmail);
+        List<PostProjection> content = List.of(post);
+        Set<Long> likedPostIds = postResponseAssembler.findLikedPostIds(content, userEmail);
+        if (notModified.test(toETag(content, likedPostIds, null))) {
+            return null;
+        }
+
+        return postDetailCache.get(post, likedPostIds.contains(postId),
+                () -> postResponseAssembler.assemble(content, likedPostIds).get(0));
+    }
+
+    // 게시글 행(version 포함), 로그인 사용자의 좋아요 여부, 다음 커서가 같으면 응답도 같다
+    private String toETag(List<PostProjection> posts, Set<Long> likedPostIds, String nextCursor) {
+        List<Boolean> liked = posts.stream()
+                .map(post -> likedPostIds.contains(post.postId()))
+                .toList();
+        return ETagUtil.weakETag(posts, liked, nextCursor);
     }
 
 
 
 
-    @Transactional
+    // 새 이미지 업로드는 트랜잭션 전에, 빠진 이미지의 S3 삭제는 커밋 후에 한다 (트랜잭션 안에서는 DB만 변경)
+    // 저장이 실패하면 새로 업로드한 파일을 삭제한다
     public PostResponseDto updatePost(Long postId, String username, PostUpdateRequestDto request) {
+        List<String> newMediaUrls = s3UploadAndConverter(request.getNewPostImages());
+
+        List<String> removeImages = new ArrayList<>();
+        PostResponseDto responseDto = executeOrDeleteUploads(
+                status -> savePostUpdate(postId, username, request, newMediaUrls, removeImages), newMediaUrls);
+
+        // S3에서 빠진 이미지 파일 삭제
+        s3Uploader.deleteFiles(removeImages);
+
+        return responseDto;
+    }
+
+    private PostResponseDto savePostUpdate(Long postId, String username, PostUpdateRequestDto request,
+                                           List<String> newMediaUrls, List<String> removeImages) {
 
         // 게시글 조회
         Post post = postRepository.findById(postId)
@@ -217,29 +481,28 @@ public class PostService {
         List<String> postImages = getExistingImageUrls(post.getMediaFiles());
         // 원래 있던 이미지에서 빠진 이미지를 찾아냄
         //List<String> removeImages = pickUpRemovePostImages(postImages, updateOriginalImages);
-        List<String> removeImages = (postImages != null)
-                ? pickUpRemovePostImages(postImages, updateOriginalImages)
-                : Collections.emptyList();
-
-        // 레파지토리에서 이미지 삭제, S3에서 빠진 이미지 파일 삭제
-        if (!removeImages.isEmpty()) {
-            for (String deletedImage : removeImages) {
-                mediaFileRepository.deleteByPostIdAndFileUrl(postId, deletedImage);
-                s3Uploader.delete(deletedImage);
-            }
+        if (postImages != null) {
+            removeImages.addAll(pickUpRemovePostImages(postImages, updateOriginalImages));
+        }
+
+        // 레파지토리에서 이미지 삭제 (S3 파일은 커밋 후 삭제)
+        for (String deletedImage : removeImages) {
+            mediaFileRepository.deleteByPostIdAndFileUrl(postId, deletedImage);
         }
 
         // 새로운 이미지 파일 추가
-        addPostImages(post, request.getNewPostImages());
+        addPostImages(post, newMediaUrls);
 
         updatePostHashtags(post, request.getHashtags());
 
         // 수정된 게시글 저장
         postRepository.save(post);
+        anonymousFeedCache.evictOnUpdate(postId);
+        postSearchIndex.index(post);
 
 
         // 수정된 게시글의 응답 DTO 생성
-        return createPostResponseDto(post, username);
+        return postResponseAssembler.assemble(post, username);
     }
 
     private List<String> getExistingImageUrls(List<MediaFile> existingImages) {
@@ -253,8 +516,7 @@ public class PostService {
                 .collect(Collectors.toList());
     }
 
-    private void addPostImages(Post post, List<MultipartFile> mediaFiles) {
-        List<String> postMediaUrls = s3UploadAndConverter(mediaFiles);
+    private void addPostImages(Post post, List<String> postMediaUrls) {
         // 기존 이미지 파일과 새로 추가된 이미지 파일의 중복을 방지하기 위해 새로운 이미지 추가 전에 모든 기존 이미지를 삭제
         post.getMediaFiles().clear();
 
@@ -277,83 +539,130 @@ public class PostService {
         existingPostHashtags.clear();
 
         // 기존 해시태그 삭제
+        List<Long> oldHashtagIds = postHashtagRepository.findHashtagIdsByPostId(post.getPostId());
+        hashtagService.addUsageCount(oldHashtagIds, -1);
         postHashtagRepository.deleteByPostId(post.getPostId());
         log.info("해시태그 삭제 By postId");
 
         // 새로운 해시태그를 추가합니다.
-        for (String newHashtag : newHashtags) {
-            // 데이터베이스에 해시태그가 이미 존재하는지 확인
-            Hashtag existingKeyword = hashtagRepository.findByHashtagName(newHashtag);
-
-            // 존재하지 않으면 생성 및 저장
-            if (existingKeyword == null) {
-                existingKeyword = new Hashtag(newHashtag);
-                existingKeyword = hashtagRepository.save(existingKeyword);
-            }
-
+        // 기존 해시태그 조회와 새 해시태그 생성을 한 번에 처리
+        List<Long> hashtagIds = hashtagService.resolveHashtagIds(newHashtags);
+        for (Long hashtagId : hashtagIds) {
             // PostHashtag 생성 및 저장
-            PostHashtag postHashtag = new PostHashtag(post, existingKeyword);
+            PostHashtag postHashtag = new PostHashtag(post, hashtagService.getReference(hashtagId));
             postHashtagRepository.save(postHashtag);
             existingPostHashtags.add(postHashtag);
         }
+        hashtagService.addUsageCount(hashtagIds, 1);
+
+        // 인기 해시태그는 수정으로 새로 붙은 태그만 센다
+        hashtagTrendingTracker.record(hashtagIds.stream()
+                .filter(hashtagId -> !oldHashtagIds.contains(hashtagId))
+                .toList());
     }
+    // 먼저 좋아요 누른 30명까지 (기존 응답 순서 유지, SQL LIMIT)
+    @Transactional(readOnly = true)
     public List<PostLikedMemberResponseDto> getLikers(Long postId) {
-        // 특정 postId에 대한 PostLiked 정보 가져오기
-        List<PostLiked> postLikedList = postLikedRepository.findByPost_PostId(postId);
-
-        // 결과를 저장할 리스트 초기화
-        List<PostLikedMemberResponseDto> responseDtoList = new ArrayList<>();
-
-        int count = 0;
-
-        // 각 PostLiked 정보에 대해
-        for (PostLiked postLiked : postLikedList) {
-            // liked가 true인 경우에만 처리
-            if (postLiked.isLiked()) {
-                // 해당 Member 정보 가져오기
-                Member member = postLiked.getMember();
-                // Member 정보를 MemberResponseDto로 변환하여 결과 리스트에 추가
-                PostLikedMemberResponseDto responseDto = PostLikedMemberResponseDto.builder()
-                        .memberId(member.getId())
-                        .email(member.getEmail())
-                        .name(member.getName())
-                        .imageUrl(member.getImageURL())
-                        .nickName(member.getNickName())
-                        .build();
-                responseDtoList.add(responseDto);
+        return postLikedRepository.findFirstLikers(postId, PageRequest.ofSize(MAX_LIKERS)).stream()
+                .map(PostLikerProjection::toResponseDto)
+                .toList();
+    }
 
-                // 30명까지만 추가하도록 수정
-                count++;
-                if (count >= 30) {
-                    break;
-                }
-            }
-        }
+    // 좋아요 누른 회원 커서 조회, 전체 수는 게시글의 좋아요 수 (count 쿼리 없음)
+    @Transactional(readOnly = true)
+    public PostLikersResponseDto getLikerSlice(Long postId, String cursor, int size) {
+        int totalCount = postRepository.findCountLikedById(postId)
+                .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
+
+        int sliceSize = CursorUtil.sliceSize(size);
+        List<PostLikerProjection> likers = postLikedRepository.findLikerSlice(
+                postId, CursorUtil.decode(cursor), PageRequest.ofSize(sliceSize + 1));
 
-        return responseDtoList;
+        boolean hasNext = likers.size() > sliceSize;
+        List<PostLikerProjection> content = hasNext ? likers.subList(0, sliceSize) : likers;
+        String nextCursor = hasNext ? CursorUtil.encode(content.get(content.size() - 1).postLikedId()) : null;
+
+        return new PostLikersResponseDto(totalCount,
+                content.stream().map(PostLikerProjection::toResponseDto).toList(),
+                nextCursor);
     }
 
     @Transactional(readOnly = true)
     public Page<PostResponseDto> getPostsByHashtag(String hashtag, Long lastPostId, Pageable pageable, String userEmail) {
         // 특정 해시태그를 포함하는 게시글을 페이징하여 가져오기
-        Page<Post> posts = postRepository.findByPostHashtags_Hashtag_HashtagNameAndPostIdLessThanOrderByCreatedAtDesc(hashtag, lastPostId, pageable);
+        Page<PostProjection> posts = hashtagService.findHashtagId(hashtag)
+                .map(hashtagId -> postRepository.findProjectionPageByHashtagId(hashtagId, lastPostId, pageable))
+                .orElseGet(() -> Page.empty(pageable));
         //Page<Post> posts = postRepository.findByHashtagAndPostIdLessThanOrderByCreatedAtDesc(hashtag, lastPostId, pageable);
 
-        // Page<Post>를 Page<PostResponseDto>로 변환
-        Page<PostResponseDto> postResponseDtoPage = posts.map(post -> createPostResponseDto(post, userEmail));
-
-        return postResponseDtoPage;
+        // 조회 결과를 Page<PostResponseDto>로 변환
+        return toPostResponseDtoPage(posts, userEmail);
     }
 
+    @Transactional(readOnly = true)
     public Page<PostResponseDto> getPostsByUser(String nickName, Long lastPostId, Pageable pageable, String loggedInUserEmail) {
         log.info("찾을유저={}", nickName);
         // 특정 유저가 작성한 게시글을 페이징하여 가져오기
-        Page<Post> posts = postRepository.findByMember_NickNameAndPostIdLessThanOrderByCreatedAtDesc(nickName, lastPostId, pageable);
+        Page<PostProjection> posts = postRepository.findProjectionPageByNickName(nickName, lastPostId, pageable);
+
+        // 조회 결과를 Page<PostResponseDto>로 변환
+        return toPostResponseDtoPage(posts, loggedInUserEmail);
+    }
+
+    // 프로필 페이지 : 닉네임 -> 회원 ID는 캐시에서, 회원 정보는 첫 게시글 슬라이스의 작성자 정보로 (count 쿼리 없음)
+    // 게시글이 없는 회원만 회원 정보를 따로 조회
+    @Transactional(readOnly = true)
+    public MemberProfileResponseDto getMemberProfile(String nickName, int size, String loggedInUserEmail) {
+        int sliceSize = CursorUtil.sliceSize(size);
+        Long memberId = memberIdCache.getIdByNickName(nickName);
+        ProfileSlice profileSlice = findProfileSlice(memberId, sliceSize);
+
+        // 캐시 이후 닉네임이 바뀌었거나 탈퇴한 회원일 수 있으므로, 캐시를 지우고 DB에서 회원 ID를 한 번만 다시 찾는다
+        // 다시 찾은 ID가 같으면 닉네임 차이는 DB 콜레이션 차이일 뿐이므로 조회한 프로필을 그대로 쓴다
+        if (profileSlice == null || !MemberIdCache.isSameNickName(nickName, profileSlice.nickName())) {
+            memberIdCache.evict(nickName);
+            Long currentMemberId = memberIdCache.getIdByNickName(nickName);
+            if (profileSlice == null || !currentMemberId.equals(memberId)) {
+                profileSlice = findProfileSlice(currentMemberId, sliceSize);
+            }
+        }
+        if (profileSlice == null) {
+            throw new UsernameNotFoundException("User not found with nickName: " + nickName);
+        }
 
-        // Page<Post>를 Page<PostResponseDto>로 변환
-        Page<PostResponseDto> postResponseDtoPage = posts.map(post -> createPostResponseDto(post, loggedInUserEmail));
+        CursorSliceResponse<PostResponseDto> slice = toCursorSlice(profileSlice.posts(), sliceSize, loggedInUserEmail, eTag -> false);
+        return profileSlice.profile()
+                .postResponseDtos(slice.getItems())
+                .nextCursor(slice.getNextCursor())
+                .build();
+    }
+
+    // 회원이 없으면 null
+    private ProfileSlice findProfileSlice(Long memberId, int sliceSize) {
+        List<PostProjection> posts = postRepository.findProjectionSliceByMemberId(
+                memberId, Long.MAX_VALUE, PageRequest.ofSize(sliceSize + 1));
+        if (!posts.isEmpty()) {
+            PostProjection post = posts.get(0);
+            return new ProfileSlice(posts, post.memberNickName(), MemberProfileResponseDto.builder()
+                    .memberId(post.memberId())
+                    .userName(post.memberName())
+                    .email(post.memberEmail())
+                    .nickName(post.memberNickName())
+                    .imageUrl(post.memberImageUrl()));
+        }
+
+        return memberRepository.findById(memberId)
+                .map(member -> new ProfileSlice(posts, member.getNickName(), MemberProfileResponseDto.builder()
+                        .memberId(member.getId())
+                        .userName(member.getName())
+                        .email(member.getEmail())
+                        .nickName(member.getNickName())
+                        .imageUrl(member.getImageURL())))
+                .orElse(null);
+    }
 
-        return postResponseDtoPage;
+    private record ProfileSlice(List<PostProjection> posts, String nickName,
+                                MemberProfileResponseDto.MemberProfileResponseDtoBuilder profile) {
     }
 
     public MemberInfoPostResponseDto getMemberInfo(String nickName) {
@@ -370,8 +679,16 @@ public class PostService {
                 .build();
     }
 
-    @Transactional
+    // 미디어 파일의 S3 삭제는 커밋 후에 한다
     public Long deletePost(Long postId, String userEmail) {
+        List<String> mediaUrls = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> removePost(postId, userEmail, mediaUrls));
+
+        s3Uploader.deleteFiles(mediaUrls);
+        return postId;
+    }
+
+    private void removePost(Long postId, String userEmail, List<String> mediaUrls) {
         // 게시글 조회
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new EntityNotFoundException("Post not found with id: " + postId));
@@ -382,22 +699,24 @@ public class PostService {
         // 게시글에 연관된 좋아요 정보 삭제
         postLikedRepository.deleteByPost(post);
 
-        // 게시글과 연관된 미디어 파일 삭제
-        List<MediaFile> mediaFiles = post.getMediaFiles();
-        for (MediaFile mediaFile : mediaFiles) {
-            // S3에서 파일 삭제
-            s3Uploader.delete(mediaFile.getFileUrl());
-        }
+        // 게시글과 연관된 미디어 파일 (S3 파일은 커밋 후 삭제)
+        mediaUrls.addAll(getExistingImageUrls(post.getMediaFiles()));
 
         //mediaFileRepository.deleteByPost(post);
 
         // 게시글과 연관된 해시태그 삭제
         //postHashtagRepository.deleteByPost(post);
 
+        // 게시글에 달린 해시태그 사용 횟수 감소
+        hashtagService.addUsageCount(postHashtagRepository.findHashtagIdsByPostId(postId), -1);
+
         // 게시글 삭제
         postRepository.deleteById(postId);
-
-        return postId;
+        anonymousFeedCache.evictOnDelete(postId);
+        postSearchIndex.delete(postId);
+        postDetailCache.evict(postId);
+        likeMembershipIndex.evict(postId);
+        trendingPostRanking.remove(postId);
     }
 
 
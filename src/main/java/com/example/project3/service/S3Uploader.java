@@ -1,12 +1,17 @@
 package com.example.project3.service;
 
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3Client;
+import com.amazonaws.services.s3.model.AmazonS3Exception;
 import com.amazonaws.services.s3.model.CannedAccessControlList;
 import com.amazonaws.services.s3.model.DeleteObjectRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.GeneratePresignedUrlRequest;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.example.project3.exception.FileUploadException;
 import com.example.project3.exception.NotImageFileException;
-import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -14,24 +19,40 @@ import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.net.URL;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Slf4j
-@RequiredArgsConstructor
 @Component
 public class S3Uploader {
 
     @Value("${cloud.aws.s3.bucketName}")
     private String bucketName;
-    private static final String DIR_SNS = "sns";
-    private static final String DIR_PROFILE_IMAGE = "ProfileImage";
+    public static final String DIR_SNS = "sns";
+    public static final String DIR_PROFILE_IMAGE = "ProfileImage";
+    // 버킷 URL 접두 경로를 알아내기 위한 임의 키
+    private static final String KEY_PROBE = "key";
 
 
     private final AmazonS3Client amazonS3Client;
+    // S3 동시 업로드 수 제한, 가득 차면 요청 스레드에서 직접 업로드한다
+    private final ThreadPoolExecutor uploadExecutor;
+
+    public S3Uploader(AmazonS3Client amazonS3Client,
+                      @Value("${cloud.aws.s3.upload-concurrency:8}") int uploadConcurrency) {
+        this.amazonS3Client = amazonS3Client;
+        this.uploadExecutor = new ThreadPoolExecutor(uploadConcurrency, uploadConcurrency,
+                60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(uploadConcurrency * 16),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.uploadExecutor.allowCoreThreadTimeOut(true);
+    }
 
     public String uploadProfileImage(MultipartFile file) throws IOException {
         if (isImageFile(file)) {
@@ -47,54 +68,144 @@ public class S3Uploader {
         return contentType != null && contentType.startsWith("image/");
     }
 
+    // 여러 파일을 upload-concurrency 개까지 동시에 업로드 (게시글 등록 시간 ≒ 가장 느린 파일 하나의 업로드 시간)
+    // 하나라도 실패하면 이번에 올린 파일을 모두 삭제하고 FileUploadException
     public List<String> upload(List<MultipartFile> files) {
         if (files == null || files.isEmpty()) {
             log.info("파일이 비어있습니다.");
             return Collections.emptyList();
         }
-        List<String> fileUrls = new ArrayList<>();
-
-        for (MultipartFile file : files) {
-            if (file != null) {
-                try {
-                    //String fileUrl = upload(file);
-                    String fileUrl = upload1(file, DIR_SNS);
-                    fileUrls.add(fileUrl);
-
-                } catch (Exception e) {
-                    log.error("S3 업로드 중 오류 발생", e);
-                    e.printStackTrace();
-                    return Collections.emptyList();
-                }
-            }
+
+        List<MultipartFile> targets = files.stream()
+                .filter(Objects::nonNull)
+                .toList();
+        // 실패 시 삭제할 수 있도록 키는 업로드 전에 정한다
+        List<String> fileNames = targets.stream()
+                .map(file -> createFileName(file, DIR_SNS))
+                .toList();
+
+        List<CompletableFuture<String>> uploads = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            MultipartFile file = targets.get(i);
+            String fileName = fileNames.get(i);
+            uploads.add(CompletableFuture.supplyAsync(() -> putObject(file, fileName), uploadExecutor));
         }
+
+        try {
+            // 모든 업로드가 끝날 때까지 기다린다 (실패한 것이 있어도 나머지가 끝난 뒤 반환)
+            CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            log.error("S3 업로드 중 오류 발생, 업로드한 파일 {}개 삭제", fileNames.size(), e.getCause());
+            deleteQuietly(fileNames);
+            throw new FileUploadException("S3 업로드 실패");
+        }
+
+        List<String> fileUrls = uploads.stream()
+                .map(CompletableFuture::join)
+                .toList();
         log.info("fileUrls" + fileUrls);
         return fileUrls;
     }
+
     private String upload1(MultipartFile multipartFile, String dirName) throws IOException {
         if (multipartFile == null) {
             throw new IllegalArgumentException("파일이 null입니다.");
         }
+        return putObject(multipartFile, createFileName(multipartFile, dirName));
+    }
+
+    private String createFileName(MultipartFile multipartFile, String dirName) {
+        return createFileName(dirName, multipartFile.getOriginalFilename());
+    }
+
+    public String createFileName(String dirName, String originName) {
         UUID uuid = UUID.randomUUID();
-        String originName = multipartFile.getOriginalFilename();
         // String extension = getFileExtension(originName);
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
-        String fileName = dirName + "/" + timestamp + "_" + uuid.toString().substring(0, 8) + "_" + originName;
+        return dirName + "/" + timestamp + "_" + uuid.toString().substring(0, 8) + "_" + originName;
+    }
+
+    // 클라이언트가 파일을 버킷에 직접 올리는 PUT URL (서버는 파일 내용을 받지 않음)
+    // 서명에 Content-Type이 포함되므로 클라이언트는 같은 헤더로 요청해야 한다
+    // 업로드된 객체는 비공개로 남고, 확정 단계에서 크기/타입을 검사한 뒤에만 공개된다 (makePublic)
+    public URL createPresignedPutUrl(String fileName, String contentType, Date expiration) {
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, fileName, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(contentType);
+        return amazonS3Client.generatePresignedUrl(request);
+    }
+
+    // 검증을 통과한 직접 업로드 파일을 공개 읽기로 전환
+    public void makePublic(String fileName) {
+        amazonS3Client.setObjectAcl(bucketName, fileName, CannedAccessControlList.PublicRead);
+    }
+
+    // 업로드된 파일의 메타데이터 (HEAD), 없으면 empty
+    public Optional<ObjectMetadata> findObjectMetadata(String fileName) {
+        try {
+            return Optional.of(amazonS3Client.getObjectMetadata(bucketName, fileName));
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
 
+    public String getFileUrl(String fileName) {
+        return amazonS3Client.getUrl(bucketName, fileName).toString();
+    }
 
+    private String putObject(MultipartFile multipartFile, String fileName) {
         ObjectMetadata metadata = new ObjectMetadata();
         metadata.setContentType(multipartFile.getContentType());
         metadata.setContentLength(multipartFile.getSize());
 
-        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, fileName,
-                multipartFile.getInputStream(), metadata)
-                .withCannedAcl(CannedAccessControlList.PublicRead);
+        try (InputStream inputStream = multipartFile.getInputStream()) {
+            PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, fileName, inputStream, metadata)
+                    .withCannedAcl(CannedAccessControlList.PublicRead);
 
-        amazonS3Client.putObject(putObjectRequest);
+            amazonS3Client.putObject(putObjectRequest);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
         return amazonS3Client.getUrl(bucketName, fileName).toString();
     }
 
+    // 업로드한 파일 URL 목록을 한 번의 요청으로 삭제 (DB 커밋 실패 시 보상, 커밋 후 빠진 파일 정리)
+    // 이 버킷의 URL이 아니면 키를 만들 수 없으므로 건너뛴다
+    public void deleteFiles(List<String> fileUrls) {
+        List<String> fileNames = new ArrayList<>(fileUrls.size());
+        for (String fileUrl : fileUrls) {
+            String fileName = extractKeyFromUrl(fileUrl);
+            if (fileName == null) {
+                log.warn("버킷 파일 URL이 아니라 삭제하지 않습니다 : {}", fileUrl);
+                continue;
+            }
+            fileNames.add(fileName);
+        }
+        deleteQuietly(fileNames);
+    }
+
+    // 없는 키는 S3가 무시한다, 삭제 실패는 로그만 남긴다 (한 번의 요청으로 삭제)
+    public void deleteQuietly(List<String> fileNames) {
+        if (fileNames.isEmpty()) {
+            return;
+        }
+        try {
+            amazonS3Client.deleteObjects(new DeleteObjectsRequest(bucketName)
+                    .withKeys(fileNames.toArray(String[]::new))
+                    .withQuiet(true));
+        } catch (RuntimeException e) {
+            log.warn("업로드 실패 파일 삭제 실패 {} : {}", fileNames, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdown();
+    }
 
     private String upload(MultipartFile multipartFile) throws IOException {
         UUID uuid = UUID.randomUUID();
@@ -172,6 +283,26 @@ public class S3Uploader {
         }
     }
 
+    // 파일 URL -> 키, 이 버킷의 URL이 아니면 null
+    // virtual-hosted(https://{bucket}.s3.../{key})와 path-style(https://{endpoint}/{bucket}/{key}) 모두
+    // getUrl이 만드는 접두 경로를 기준으로 잘라낸다
+    private String extractKeyFromUrl(String url) {
+        try {
+            URI base = new URI(getFileUrl(KEY_PROBE));
+            String basePath = base.getPath().substring(0, base.getPath().length() - KEY_PROBE.length());
+
+            URI uri = new URI(url);
+            String path = uri.getPath();
+            if (!Objects.equals(base.getHost(), uri.getHost()) || path == null
+                    || !path.startsWith(basePath) || path.length() == basePath.length()) {
+                return null;
+            }
+            return path.substring(basePath.length());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
     public String extractFileNameFromUrl(String url) {
         try {
             URI uri = new URI(url);
@@ -0,0 +1,173 @@
+package com.example.project3.service;
+
+import com.example.project3.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 인기 게시글 순위 (Redis ZSET, 시간 감쇠 점수)
+ *
+ * 좋아요 한 번의 점수는 half-life 마다 절반으로 줄어든다.
+ * 이미 저장된 점수를 매번 줄이지 않고, 기준 시각(epoch) 이후 경과 시간만큼 새 좋아요의 점수를 키워서 더한다.
+ *  - 좋아요 : +exp(λ(now - epoch)), λ = ln2 / half-life
+ *  - 취소 : 그 좋아요를 더한 시각 t의 점수 -exp(λ(t - epoch))를 뺀다 (좋아요 시각은 게시글별 HASH에 회원 ID로 저장)
+ *    지금 시각의 점수를 빼면 좋아요/취소 한 번에 점수가 좋아요 이전보다 낮아지므로, 더한 만큼만 뺀다
+ *    좋아요 시각은 점수가 min-score 아래로 줄어드는 시간이 지나면 만료되고, 만료된 좋아요의 취소는 점수를 바꾸지 않는다
+ *  - 점수가 너무 커지지 않도록 주기적으로 전체 점수에 exp(-λ(now - epoch))를 곱하고 epoch를 now로 옮긴다 (ZUNIONSTORE WEIGHTS)
+ * 순위 비교는 같은 epoch 기준이면 되므로 조회는 ZREVRANGE 한 번 (O(log n + size)), 갱신은 MySQL을 사용하지 않는다.
+ * epoch는 Redis에 저장해서 여러 서버가 같은 기준으로 점수를 더한다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class TrendingPostRanking {
+
+    private static final String RANKING_KEY = "post:trending";
+    private static final String EPOCH_KEY = "post:trending:epoch";
+    private static final String LIKED_AT_KEY_PREFIX = "post:trending:liked-at:";
+
+    // KEYS[1] = 순위, KEYS[2] = epoch, KEYS[3] = 게시글의 좋아요 시각
+    // ARGV = now(초), λ, postId, memberId, 좋아요 시각 유지 시간(초)
+    private static final RedisScript<Long> LIKE_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local epoch = tonumber(redis.call('get', KEYS[2]))
+            if not epoch then
+                epoch = now
+                redis.call('set', KEYS[2], now)
+            end
+            redis.call('hset', KEYS[3], ARGV[4], now)
+            redis.call('expire', KEYS[3], ARGV[5])
+            redis.call('zincrby', KEYS[1], math.exp(tonumber(ARGV[2]) * (now - epoch)), ARGV[3])
+            return 1
+            """, Long.class);
+
+    // 좋아요를 더한 시각의 점수만큼 빼고, 0 이하가 되면 제거 (음수 점수를 남기지 않는다)
+    // KEYS, ARGV는 LIKE_SCRIPT와 같음 (유지 시간 제외)
+    private static final RedisScript<Long> UNLIKE_SCRIPT = RedisScript.of("""
+            local likedAt = tonumber(redis.call('hget', KEYS[3], ARGV[4]))
+            if not likedAt then
+                return 0
+            end
+            redis.call('hdel', KEYS[3], ARGV[4])
+            local epoch = tonumber(redis.call('get', KEYS[2]))
+            if not epoch then
+                return 0
+            end
+            local score = tonumber(redis.call('zincrby', KEYS[1], -math.exp(tonumber(ARGV[2]) * (likedAt - epoch)), ARGV[3]))
+            if score <= 0 then
+                redis.call('zrem', KEYS[1], ARGV[3])
+            end
+            return 1
+            """, Long.class);
+
+    // 전체 점수를 현재 시각 기준으로 줄이고, 점수가 거의 0이 된 게시글과 max-posts 밖의 게시글은 제거
+    // ARGV = now(초), λ, 최소 점수, 최대 게시글 수
+    private static final RedisScript<Long> REBASE_SCRIPT = RedisScript.of("""
+            local now = tonumber(ARGV[1])
+            local epoch = tonumber(redis.call('get', KEYS[2]))
+            if not epoch or now <= epoch then
+                return 0
+            end
+            local factor = math.exp(-tonumber(ARGV[2]) * (now - epoch))
+            redis.call('zunionstore', KEYS[1], 1, KEYS[1], 'WEIGHTS', factor)
+            redis.call('set', KEYS[2], now)
+            redis.call('zremrangebyscore', KEYS[1], '-inf', ARGV[3])
+            redis.call('zremrangebyrank', KEYS[1], 0, -tonumber(ARGV[4]) - 1)
+            return redis.call('zcard', KEYS[1])
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    @Value("${post.trending.half-life-hours:6}")
+    private double halfLifeHours;
+
+    @Value("${post.trending.min-score:0.01}")
+    private double minScore;
+
+    @Value("${post.trending.max-posts:10000}")
+    private long maxPosts;
+
+    public void recordLike(Long postId, Long memberId) {
+        TransactionUtil.afterCommit(() -> record(LIKE_SCRIPT, postId, memberId));
+    }
+
+    public void recordUnlike(Long postId, Long memberId) {
+        TransactionUtil.afterCommit(() -> record(UNLIKE_SCRIPT, postId, memberId));
+    }
+
+    public void remove(Long postId) {
+        TransactionUtil.afterCommit(() -> {
+            try {
+                stringRedisTemplate.opsForZSet().remove(RANKING_KEY, postId.toString());
+                stringRedisTemplate.delete(likedAtKey(postId));
+            } catch (RuntimeException e) {
+                log.warn("인기 게시글 순위 삭제 실패 : {}", e.getMessage());
+            }
+        });
+    }
+
+    // 점수가 높은 순으로 offset부터 count개, Redis 장애 시 빈 목록
+    public List<Long> findPostIds(long offset, int count) {
+        try {
+            Set<String> postIds = stringRedisTemplate.opsForZSet()
+                    .reverseRange(RANKING_KEY, offset, offset + count - 1);
+            if (postIds == null) {
+                return Collections.emptyList();
+            }
+            return postIds.stream()
+                    .map(Long::valueOf)
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("인기 게시글 순위 조회 실패 : {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${post.trending.rebase-interval-ms:3600000}")
+    public void rebase() {
+        try {
+            Long size = stringRedisTemplate.execute(REBASE_SCRIPT, List.of(RANKING_KEY, EPOCH_KEY),
+                    String.valueOf(nowSeconds()), String.valueOf(lambda()), String.valueOf(minScore), String.valueOf(maxPosts));
+            log.debug("인기 게시글 순위 기준 시각 변경, 게시글 수 = {}", size);
+        } catch (RuntimeException e) {
+            log.warn("인기 게시글 순위 기준 시각 변경 실패 : {}", e.getMessage());
+        }
+    }
+
+    private void record(RedisScript<Long> script, Long postId, Long memberId) {
+        try {
+            stringRedisTemplate.execute(script, List.of(RANKING_KEY, EPOCH_KEY, likedAtKey(postId)),
+                    String.valueOf(nowSeconds()), String.valueOf(lambda()), postId.toString(), memberId.toString(),
+                    String.valueOf(likedAtTtlSeconds()));
+        } catch (RuntimeException e) {
+            log.warn("인기 게시글 점수 반영 실패 : {}", e.getMessage());
+        }
+    }
+
+    // 초당 감쇠율
+    private double lambda() {
+        return Math.log(2) / (halfLifeHours * 3600);
+    }
+
+    // 좋아요 한 번의 점수가 min-score 아래로 줄어드는 시간 (이후의 취소는 점수에 거의 영향이 없다)
+    private long likedAtTtlSeconds() {
+        return Math.max(1L, (long) Math.ceil(Math.log(1 / minScore) / lambda()));
+    }
+
+    private String likedAtKey(Long postId) {
+        return LIKED_AT_KEY_PREFIX + postId;
+    }
+
+    private long nowSeconds() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.project3.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 행별 증감량을 메모리에 모았다가 한 번의 batch UPDATE로 반영하는 카운터 (write-behind)
+ * LikeCountBuffer, HashtagUsageCountBuffer가 UPDATE 문만 달리해서 사용한다.
+ *  - 증감량 누적은 ConcurrentHashMap.merge (행별 원자적, 버킷 단위 잠금)
+ *  - 반영 시 remove로 꺼낸 값만 UPDATE하므로 반영 중에 들어온 증감은 다음 반영 때 들어간다
+ *  - batch UPDATE는 한 트랜잭션으로 실행하므로 전부 반영되거나 전부 롤백된다
+ *    (롤백된 경우에만 꺼낸 증감량을 다시 더해 두므로 일부만 반영된 증감이 두 번 더해지지 않는다)
+ *  - 반영은 한 번에 하나만 실행한다. flush가 끝나면 그 전에 더해진 증감량은 모두 커밋되어 있다
+ *    (예약 실행이 꺼내기만 하고 아직 커밋하지 않은 증감량을 건너뛰지 않는다)
+ *  - 행 ID 순서로 UPDATE해서 다른 서버의 반영과 잠금 순서가 엇갈리지 않게 한다
+ */
+@Slf4j
+public class WriteBehindCounter {
+
+    private final String name;
+    // 파라미터 : (증감량, 행 ID)
+    private final String flushSql;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentHashMap<Long, Long> deltas = new ConcurrentHashMap<>();
+    // 예약 실행과 직접 호출을 직렬화 (가상 스레드를 고정하지 않도록 synchronized 대신 사용)
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public WriteBehindCounter(String name, String flushSql,
+                              JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.name = name;
+        this.flushSql = flushSql;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void add(Long id, long delta) {
+        deltas.merge(id, delta, Long::sum);
+    }
+
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushDeltas();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushDeltas() {
+        List<Object[]> batchArgs = new ArrayList<>();
+        for (Long id : deltas.keySet()) {
+            Long delta = deltas.remove(id);
+            if (delta != null && delta != 0) {
+                batchArgs.add(new Object[]{delta, id});
+            }
+        }
+        if (batchArgs.isEmpty()) {
+            return;
+        }
+        batchArgs.sort(Comparator.comparing(args -> (Long) args[1]));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(flushSql, batchArgs));
+            log.debug("{} {}건 반영", name, batchArgs.size());
+        } catch (RuntimeException e) {
+            log.warn("{} 반영 실패, 다음 주기에 다시 시도 : {}", name, e.getMessage());
+            for (Object[] args : batchArgs) {
+                add((Long) args[1], (Long) args[0]);
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.project3.util;
+
+import com.example.project3.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 커서 기반 페이징에서 사용하는 커서 변환
+ * 클라이언트에는 마지막으로 받은 ID를 그대로 노출하지 않고 불투명한 문자열로 전달한다.
+ */
+public class CursorUtil {
+
+    public static final int MAX_SLICE_SIZE = 50;
+
+    public static String encode(Long id) {
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 커서가 없으면 처음부터 조회
+    public static Long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public static int sliceSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SLICE_SIZE));
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.project3.util;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 응답 본문을 만들지 않고도 비교할 수 있도록, 응답을 결정하는 값들로 ETag 생성
+ */
+public class ETagUtil {
+
+    public static String weakETag(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('|');
+        }
+        return "W/\"" + DigestUtils.md5DigestAsHex(source.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+}
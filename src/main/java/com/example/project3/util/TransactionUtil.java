@@ -0,0 +1,24 @@
+package com.example.project3.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 캐시/인덱스 갱신처럼 DB에 커밋된 내용만 반영해야 하는 작업을 커밋 이후로 미룬다
+ */
+public class TransactionUtil {
+
+    // 트랜잭션 밖에서 호출되면 바로 실행, 롤백되면 실행하지 않는다
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.project3.service;
+
+import com.example.project3.repository.PostHashtagRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+// (hashtag_id, post_id) 인덱스 조회를 메모리 목록으로 대신하고, 결과를 단순 교집합/합집합과 비교
+class HashtagPostSearchTest {
+
+    private final Map<Long, TreeSet<Long>> postIdsByHashtagId = new HashMap<>();
+    private HashtagPostSearch hashtagPostSearch;
+
+    @BeforeEach
+    void beforeEach() {
+        PostHashtagRepository postHashtagRepository = Mockito.mock(PostHashtagRepository.class);
+        Mockito.when(postHashtagRepository.findPostIdsByHashtagId(anyLong(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    Long hashtagId = invocation.getArgument(0);
+                    Long before = invocation.getArgument(1);
+                    Pageable pageable = invocation.getArgument(2);
+                    return postIdsByHashtagId.getOrDefault(hashtagId, new TreeSet<>())
+                            .headSet(before, false)
+                            .descendingSet()
+                            .stream()
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+
+        hashtagPostSearch = new HashtagPostSearch(postHashtagRepository);
+        // 블록 경계를 자주 넘도록 작은 블록
+        ReflectionTestUtils.setField(hashtagPostSearch, "blockSize", 4);
+        ReflectionTestUtils.setField(hashtagPostSearch, "maxFetches", 1000);
+    }
+
+    @DisplayName("AND 검색은 모든 태그에 있는 게시글만 내림차순으로 반환")
+    @Test
+    void searchAll() {
+        tag(1L, 1, 2, 3, 5, 8, 13, 21, 34, 55, 89);
+        tag(2L, 2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41, 43, 47, 53, 55, 59, 61, 67, 71, 73, 79, 83, 89, 97);
+        tag(3L, 3, 5, 13, 55, 89, 90, 91);
+
+        HashtagPostSearch.SearchResult result = hashtagPostSearch.searchAll(List.of(1L, 2L, 3L), Long.MAX_VALUE, 10);
+
+        assertThat(result.postIds()).containsExactly(89L, 55L, 13L, 5L, 3L);
+        assertThat(result.resumeBefore()).isNull();
+    }
+
+    @DisplayName("OR 검색은 한 태그라도 있는 게시글을 중복 없이 내림차순으로 반환")
+    @Test
+    void searchAny() {
+        tag(1L, 1, 4, 9, 16, 25);
+        tag(2L, 4, 8, 16, 32);
+
+        HashtagPostSearch.SearchResult result = hashtagPostSearch.searchAny(List.of(1L, 2L), 26, 5);
+
+        assertThat(result.postIds()).containsExactly(25L, 16L, 9L, 8L, 4L);
+    }
+
+    @DisplayName("무작위 목록에서 커서로 끝까지 읽은 결과가 단순 교집합/합집합과 같다")
+    @Test
+    void matchesBruteForceAcrossPages() {
+        Random random = new Random(42);
+        for (long hashtagId = 1; hashtagId <= 3; hashtagId++) {
+            for (long postId = 1; postId <= 2000; postId++) {
+                if (random.nextInt(3 + (int) hashtagId) == 0) {
+                    postIdsByHashtagId.computeIfAbsent(hashtagId, id -> new TreeSet<>()).add(postId);
+                }
+            }
+        }
+        List<Long> hashtagIds = List.of(1L, 2L, 3L);
+
+        Set<Long> intersection = new TreeSet<>(postIdsByHashtagId.get(1L));
+        Set<Long> union = new TreeSet<>(postIdsByHashtagId.get(1L));
+        for (Long hashtagId : hashtagIds) {
+            intersection.retainAll(postIdsByHashtagId.get(hashtagId));
+            union.addAll(postIdsByHashtagId.get(hashtagId));
+        }
+
+        assertThat(readAll(hashtagIds, true)).isEqualTo(descending(intersection));
+        assertThat(readAll(hashtagIds, false)).isEqualTo(descending(union));
+    }
+
+    @DisplayName("블록 조회 횟수 제한에 걸리면 이어서 검색할 커서를 주고, 이어 읽어도 빠지는 게시글이 없다")
+    @Test
+    void resumesAfterFetchLimit() {
+        ReflectionTestUtils.setField(hashtagPostSearch, "maxFetches", 3);
+        for (long postId = 1; postId <= 500; postId++) {
+            postIdsByHashtagId.computeIfAbsent(postId % 2 == 0 ? 1L : 2L, id -> new TreeSet<>()).add(postId);
+        }
+        tag(1L, 7, 301);
+        tag(2L, 8, 302);
+
+        HashtagPostSearch.SearchResult first = hashtagPostSearch.searchAll(List.of(1L, 2L), Long.MAX_VALUE, 10);
+        assertThat(first.resumeBefore()).isNotNull();
+
+        assertThat(readAll(List.of(1L, 2L), true)).containsExactly(302L, 301L, 8L, 7L);
+    }
+
+    private List<Long> readAll(List<Long> hashtagIds, boolean all) {
+        List<Long> postIds = new ArrayList<>();
+        long before = Long.MAX_VALUE;
+        while (true) {
+            HashtagPostSearch.SearchResult result = all
+                    ? hashtagPostSearch.searchAll(hashtagIds, before, 7)
+                    : hashtagPostSearch.searchAny(hashtagIds, before, 7);
+            postIds.addAll(result.postIds());
+            if (result.resumeBefore() != null) {
+                before = result.resumeBefore();
+            } else if (result.postIds().size() == 7) {
+                before = result.postIds().get(result.postIds().size() - 1);
+            } else {
+                return postIds;
+            }
+        }
+    }
+
+    private void tag(Long hashtagId, long... postIds) {
+        TreeSet<Long> set = postIdsByHashtagId.computeIfAbsent(hashtagId, id -> new TreeSet<>());
+        for (long postId : postIds) {
+            set.add(postId);
+        }
+    }
+
+    private List<Long> descending(Set<Long> postIds) {
+        return postIds.stream()
+                .sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList());
+    }
+}
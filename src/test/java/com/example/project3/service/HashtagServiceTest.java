@@ -0,0 +1,40 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.hashtag.HashtagMapping;
+import com.example.project3.repository.HashtagRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+// DB 콜레이션(대소문자 구분 없음)을 저장소 응답으로 흉내 내고 태그 ID 목록만 확인
+class HashtagServiceTest {
+
+    @DisplayName("콜레이션상 같은 이름이 함께 오면 같은 태그 ID는 한 번만 반환")
+    @Test
+    void resolveCollationEqualNamesOnce() {
+        HashtagMapping rain = Mockito.mock(HashtagMapping.class);
+        Mockito.when(rain.getHashtagId()).thenReturn(7L);
+        Mockito.when(rain.getHashtagName()).thenReturn("rain");
+
+        HashtagRepository hashtagRepository = Mockito.mock(HashtagRepository.class);
+        Mockito.when(hashtagRepository.findMappingsByHashtagNameIn(anyCollection())).thenReturn(List.of(rain));
+        Mockito.when(hashtagRepository.findIdByHashtagName("Rain")).thenReturn(Optional.of(7L));
+
+        HashtagService hashtagService = new HashtagService(
+                hashtagRepository,
+                Mockito.mock(JdbcTemplate.class),
+                Mockito.mock(HashtagDictionary.class),
+                Mockito.mock(HashtagSuggestIndex.class),
+                Mockito.mock(HashtagTrendingTracker.class),
+                Mockito.mock(HashtagUsageCountBuffer.class));
+
+        assertThat(hashtagService.resolveHashtagIds(List.of("rain", "Rain"))).containsExactly(7L);
+    }
+}
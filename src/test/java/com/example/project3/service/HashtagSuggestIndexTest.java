@@ -0,0 +1,94 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.hashtag.HashtagSuggestResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 스프링 컨텍스트 없이 정규화/접두어 키/상위 N개 선택만 확인
+class HashtagSuggestIndexTest {
+
+    @DisplayName("입력 중인 자모로 끝나는 접두어도 완성된 태그의 접두어가 된다")
+    @Test
+    void normalizeIncompleteSyllable() {
+        assertThat(HashtagSuggestIndex.normalize("날씨")).startsWith(HashtagSuggestIndex.normalize("날ㅆ"));
+        assertThat(HashtagSuggestIndex.normalize("날씨")).startsWith(HashtagSuggestIndex.normalize("날"));
+        assertThat(HashtagSuggestIndex.normalize("Weather")).isEqualTo(HashtagSuggestIndex.normalize("weather"));
+    }
+
+    @DisplayName("마지막 글자의 받침을 다음 글자의 초성으로 옮긴 키도 만든다")
+    @Test
+    void prefixKeysMoveFinalConsonant() {
+        List<String> keys = HashtagSuggestIndex.prefixKeys(HashtagSuggestIndex.normalize("날"));
+        assertThat(keys).hasSize(2);
+        assertThat(keys).anyMatch(key -> HashtagSuggestIndex.normalize("나래").startsWith(key));
+        assertThat(keys).anyMatch(key -> HashtagSuggestIndex.normalize("날씨").startsWith(key));
+    }
+
+    @DisplayName("겹받침은 뒤 자음만 다음 글자의 초성으로 옮긴다")
+    @Test
+    void prefixKeysSplitDoubleFinalConsonant() {
+        List<String> keys = HashtagSuggestIndex.prefixKeys(HashtagSuggestIndex.normalize("닭"));
+        assertThat(keys).anyMatch(key -> HashtagSuggestIndex.normalize("달기").startsWith(key));
+        assertThat(keys).anyMatch(key -> HashtagSuggestIndex.normalize("닭갈비").startsWith(key));
+    }
+
+    @DisplayName("받침이 없으면 입력한 키만 검색한다")
+    @Test
+    void prefixKeysWithoutFinalConsonant() {
+        String key = HashtagSuggestIndex.normalize("나");
+        assertThat(HashtagSuggestIndex.prefixKeys(key)).containsExactly(key);
+    }
+
+    @DisplayName("접두어가 같은 태그 중 사용 횟수가 많은 순서로 size개")
+    @Test
+    void suggestTopByUsageCount() {
+        HashtagSuggestIndex index = new HashtagSuggestIndex(null);
+        ReflectionTestUtils.setField(index, "maxEntries", 100);
+        ReflectionTestUtils.setField(index, "maxScan", 100);
+        index.add(1L, "날씨");
+        index.add(2L, "나래");
+        index.add(3L, "날씨맑음");
+        index.add(4L, "바다");
+        index.addUsageCount(List.of(1L), 5);
+        index.addUsageCount(List.of(2L), 3);
+        index.addUsageCount(List.of(3L), 1);
+
+        assertThat(index.suggest("날ㅆ", 10)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("날씨", "날씨맑음");
+        assertThat(index.suggest("날", 10)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("날씨", "나래", "날씨맑음");
+        assertThat(index.suggest("날", 1)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("날씨");
+    }
+
+    @DisplayName("짧은 접두어 목록을 계산한 뒤 추가된 태그와 늘어난 사용 횟수도 바로 반영")
+    @Test
+    void shortPrefixReflectsAddedTags() {
+        HashtagSuggestIndex index = new HashtagSuggestIndex(null);
+        ReflectionTestUtils.setField(index, "maxEntries", 100);
+        ReflectionTestUtils.setField(index, "maxScan", 100);
+        index.add(1L, "날씨");
+        index.add(2L, "나래");
+        index.addUsageCount(List.of(1L), 5);
+        index.addUsageCount(List.of(2L), 3);
+        ReflectionTestUtils.invokeMethod(index, "computeShortPrefixes");
+
+        index.add(3L, "노을");
+        index.addUsageCount(List.of(3L), 10);
+
+        assertThat(index.suggest("ㄴ", 10)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("노을", "날씨", "나래");
+        assertThat(index.suggest("노", 10)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("노을");
+
+        // 목록에 있던 태그의 사용 횟수가 줄면 범위를 훑어서 다시 고른다
+        index.addUsageCount(List.of(3L), -9);
+        assertThat(index.suggest("ㄴ", 10)).extracting(HashtagSuggestResponseDto::getHashtagName)
+                .containsExactly("날씨", "나래", "노을");
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.project3.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 시각을 직접 넘겨서 구간/Space-Saving 동작만 확인
+class HashtagTrendingTrackerTest {
+
+    private static final long MINUTE = 60_000L;
+
+    @DisplayName("태그 종류가 capacity 이하이면 정확한 횟수를 많은 순으로 반환")
+    @Test
+    void exactCountsWithinCapacity() {
+        HashtagTrendingTracker tracker = new HashtagTrendingTracker(60, 12, 10);
+        long now = 100 * MINUTE;
+        tracker.record(List.of(1L, 2L, 3L), now);
+        tracker.record(List.of(1L, 2L), now + MINUTE);
+        tracker.record(List.of(1L), now + 7 * MINUTE);
+
+        Map<Long, Long> top = tracker.findTop(3, now + 8 * MINUTE);
+
+        assertThat(top).containsExactly(Map.entry(1L, 3L), Map.entry(2L, 2L), Map.entry(3L, 1L));
+        assertThat(tracker.findTop(1, now + 8 * MINUTE)).containsOnlyKeys(1L);
+    }
+
+    @DisplayName("capacity보다 종류가 많아도 자주 쓰인 태그는 빠지지 않고 횟수를 적게 세지 않는다")
+    @Test
+    void heavyHittersSurviveEviction() {
+        HashtagTrendingTracker tracker = new HashtagTrendingTracker(60, 1, 5);
+        long now = 100 * MINUTE;
+
+        List<Long> stream = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            stream.add(1L);
+        }
+        for (int i = 0; i < 20; i++) {
+            stream.add(2L);
+        }
+        for (long hashtagId = 100; hashtagId < 150; hashtagId++) {
+            stream.add(hashtagId);
+        }
+        Collections.shuffle(stream, new Random(7));
+        for (Long hashtagId : stream) {
+            tracker.record(List.of(hashtagId), now);
+        }
+
+        // 전체 100회, capacity 5 : 20회(= 100 / 5)를 넘게 쓰인 태그는 반드시 남는다
+        Map<Long, Long> top = tracker.findTop(2, now);
+        assertThat(top).containsKey(1L);
+        assertThat(top.get(1L)).isGreaterThanOrEqualTo(30L);
+        assertThat(tracker.findTop(5, now).get(1L)).isEqualTo(top.get(1L));
+    }
+
+    @DisplayName("window가 지난 구간은 집계에서 빠진다")
+    @Test
+    void slidingWindow() {
+        HashtagTrendingTracker tracker = new HashtagTrendingTracker(60, 12, 10);
+        long start = 1000 * MINUTE;
+        tracker.record(List.of(1L), start);
+        tracker.record(List.of(2L), start + 30 * MINUTE);
+
+        assertThat(tracker.findTop(10, start + 59 * MINUTE)).containsOnlyKeys(1L, 2L);
+        assertThat(tracker.findTop(10, start + 61 * MINUTE)).containsOnlyKeys(2L);
+        assertThat(tracker.findTop(10, start + 91 * MINUTE)).isEmpty();
+    }
+
+    @DisplayName("재사용된 구간은 이전 횟수를 비우고 센다")
+    @Test
+    void reusedBucketIsCleared() {
+        HashtagTrendingTracker tracker = new HashtagTrendingTracker(60, 12, 10);
+        long start = 1000 * MINUTE;
+        tracker.record(List.of(1L, 1L), start);
+        // 12구간 뒤 = 같은 링 위치
+        tracker.record(List.of(1L), start + 60 * MINUTE);
+
+        assertThat(tracker.findTop(10, start + 60 * MINUTE)).containsExactly(Map.entry(1L, 1L));
+    }
+}
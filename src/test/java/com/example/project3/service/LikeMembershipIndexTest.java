@@ -0,0 +1,100 @@
+package com.example.project3.service;
+
+import com.example.project3.dto.response.post.PostProjection;
+import com.example.project3.entity.Post;
+import com.example.project3.entity.member.Member;
+import com.example.project3.repository.MemberRepository;
+import com.example.project3.repository.PostLikedRepository;
+import com.example.project3.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class LikeMembershipIndexTest {
+
+    @Autowired
+    private LikeMembershipIndex likeMembershipIndex;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikedRepository postLikedRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Member writer;
+
+    private Member liker;
+
+    private Post post;
+
+    @BeforeEach
+    void beforeEach() {
+        writer = memberRepository.save(Member.builder()
+                .email("index-writer@test.com")
+                .nickName("인덱스작성자")
+                .name("작성자")
+                .build());
+        liker = memberRepository.save(Member.builder()
+                .email("index-liker@test.com")
+                .nickName("인덱스좋아요")
+                .name("좋아요")
+                .build());
+
+        post = postRepository.save(Post.builder()
+                .member(writer)
+                .postContent("좋아요 인덱스 적재 테스트")
+                .postTemperature(20.5f)
+                .build());
+        likeMembershipIndex.evict(post.getPostId());
+    }
+
+    @AfterEach
+    void afterEach() {
+        likeMembershipIndex.evict(post.getPostId());
+        postLikedRepository.deleteAll(postLikedRepository.findByPost_PostId(post.getPostId()));
+        postRepository.deleteById(post.getPostId());
+        memberRepository.deleteAll(List.of(writer, liker));
+    }
+
+    @Test
+    void 목록_조회와_적재_사이에_커밋된_좋아요도_적재() {
+        TransactionTemplate readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+
+        // given : 목록 조회로 읽기 트랜잭션의 스냅샷이 잡힌 뒤, 다른 트랜잭션에서 좋아요가 커밋된다
+        Set<Long> likedInFeed = readOnlyTransactionTemplate.execute(status -> {
+            PostProjection projection = postRepository.findProjectionById(post.getPostId()).orElseThrow();
+            CompletableFuture.runAsync(() -> postService.toggleLike(post.getPostId(), liker.getEmail())).join();
+
+            // when : 같은 트랜잭션 안에서 인덱스 적재
+            return likeMembershipIndex.findLikedPostIds(liker.getId(), List.of(projection));
+        });
+
+        // then : 적재 결과와 저장된 인덱스 모두 커밋된 좋아요를 포함
+        assertThat(likedInFeed).containsExactly(post.getPostId());
+
+        PostProjection projection = postRepository.findProjectionById(post.getPostId()).orElseThrow();
+        assertThat(likeMembershipIndex.findLikedPostIds(liker.getId(), List.of(projection)))
+                .containsExactly(post.getPostId());
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.project3.service;
+
+import com.example.project3.entity.Post;
+import com.example.project3.entity.PostLiked;
+import com.example.project3.entity.member.Member;
+import com.example.project3.repository.MemberRepository;
+import com.example.project3.repository.PostLikedRepository;
+import com.example.project3.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class PostLikeConcurrencyTest {
+
+    private static final int MEMBER_COUNT = 100;
+    private static final int TOGGLES_PER_MEMBER = 5;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private LikeCountBuffer likeCountBuffer;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikedRepository postLikedRepository;
+
+    private List<Member> members;
+
+    private Post post;
+
+    @BeforeEach
+    void beforeEach() {
+        members = new ArrayList<>();
+        for (int i = 0; i < MEMBER_COUNT; i++) {
+            members.add(memberRepository.save(Member.builder()
+                    .email("like" + i + "@test.com")
+                    .nickName("좋아요" + i)
+                    .name("사용자" + i)
+                    .build()));
+        }
+
+        post = postRepository.save(Post.builder()
+                .member(members.get(0))
+                .postContent("좋아요 동시성 테스트")
+                .postTemperature(20.5f)
+                .build());
+    }
+
+    @AfterEach
+    void afterEach() {
+        postLikedRepository.deleteAll(postLikedRepository.findByPost_PostId(post.getPostId()));
+        postRepository.deleteById(post.getPostId());
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    void 동시_좋아요_토글_후_좋아요_수_일치() throws Exception {
+        // given : 회원 100명이 동시에, 회원마다 5번씩 차례로 토글 (홀수 번이므로 모두 좋아요 상태로 끝난다)
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Member member : members) {
+            results.add(executor.submit(() -> {
+                start.await();
+                boolean liked = false;
+                for (int i = 0; i < TOGGLES_PER_MEMBER; i++) {
+                    liked = postService.toggleLike(post.getPostId(), member.getEmail());
+                }
+                return liked;
+            }));
+        }
+
+        // when
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+        executor.shutdown();
+        // 예약된 반영이 진행 중이면 커밋될 때까지 기다린 뒤 남은 증감량을 반영
+        likeCountBuffer.flush();
+
+        // then : 좋아요 행과 좋아요 수 모두 정확히 회원 수
+        List<PostLiked> postLikeds = postLikedRepository.findByPost_PostId(post.getPostId());
+        long likedMembers = postLikeds.stream()
+                .map(postLiked -> postLiked.getMember().getId())
+                .distinct()
+                .count();
+        Post likedPost = postRepository.findById(post.getPostId()).orElseThrow();
+
+        assertThat(postLikeds).hasSize(MEMBER_COUNT);
+        assertThat(likedMembers).isEqualTo(MEMBER_COUNT);
+        assertThat(likedPost.getCountLiked()).isEqualTo(MEMBER_COUNT);
+    }
+
+    @Test
+    void 같은_회원_동시_토글_후_좋아요_수_일치() throws Exception {
+        // given : 한 회원이 같은 게시글을 동시에 50번 토글 (어느 요청이 먼저 반영될지는 정해지지 않음)
+        Member member = members.get(0);
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return postService.toggleLike(post.getPostId(), member.getEmail());
+            }));
+        }
+
+        // when
+        start.countDown();
+        for (Future<Boolean> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+        // 예약된 반영이 진행 중이면 커밋될 때까지 기다린 뒤 남은 증감량을 반영
+        likeCountBuffer.flush();
+
+        // then : 좋아요 행은 최대 1개, 좋아요 수는 정확히 행 수
+        List<PostLiked> postLikeds = postLikedRepository.findByPost_PostId(post.getPostId());
+        Post likedPost = postRepository.findById(post.getPostId()).orElseThrow();
+
+        assertThat(postLikeds.size()).isLessThanOrEqualTo(1);
+        assertThat(likedPost.getCountLiked()).isEqualTo(postLikeds.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.project3.util;
+
+import com.example.project3.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorUtilTest {
+
+    @DisplayName("인코딩한 커서는 같은 ID로 디코딩된다")
+    @Test
+    void roundTrip() {
+        for (long id : new long[]{1L, 42L, 1_234_567_890_123L, Long.MAX_VALUE}) {
+            String cursor = CursorUtil.encode(id);
+            assertThat(cursor).doesNotContain("=", "+", "/");
+            assertThat(CursorUtil.decode(cursor)).isEqualTo(id);
+        }
+    }
+
+    @DisplayName("커서가 없으면 처음부터 조회")
+    @Test
+    void emptyCursor() {
+        assertThat(CursorUtil.decode(null)).isEqualTo(Long.MAX_VALUE);
+        assertThat(CursorUtil.decode("")).isEqualTo(Long.MAX_VALUE);
+        assertThat(CursorUtil.decode("  ")).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @DisplayName("잘못된 커서는 InvalidCursorException")
+    @Test
+    void invalidCursor() {
+        assertThatThrownBy(() -> CursorUtil.decode("!!!")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> CursorUtil.decode(CursorUtil.encode(1L) + "YWJj")).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @DisplayName("페이지 크기는 1 ~ MAX_SLICE_SIZE")
+    @Test
+    void sliceSize() {
+        assertThat(CursorUtil.sliceSize(0)).isEqualTo(1);
+        assertThat(CursorUtil.sliceSize(-5)).isEqualTo(1);
+        assertThat(CursorUtil.sliceSize(20)).isEqualTo(20);
+        assertThat(CursorUtil.sliceSize(1000)).isEqualTo(CursorUtil.MAX_SLICE_SIZE);
+    }
+}